@@ -0,0 +1,65 @@
+package android.util;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * JVM stand-in for the Android {@code Log} class.
+ * <p/>
+ * Messages are not printed anywhere. The stand-in only touches
+ * every character of the tag and the message to approximate the cost
+ * of copying them to the native logger.
+ */
+public final class Log {
+
+    public static final int VERBOSE = 2;
+    public static final int DEBUG = 3;
+    public static final int INFO = 4;
+    public static final int WARN = 5;
+    public static final int ERROR = 6;
+    public static final int ASSERT = 7;
+
+    private static int checksum;
+
+    private Log() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static int println(int priority, String tag, String msg) {
+        int hash = priority;
+        for (int i = 0, length = tag.length(); i < length; i++) {
+            hash = 31 * hash + tag.charAt(i);
+        }
+        for (int i = 0, length = msg.length(); i < length; i++) {
+            hash = 31 * hash + msg.charAt(i);
+        }
+        checksum += hash;
+        return tag.length() + msg.length();
+    }
+
+    public static String getStackTraceString(Throwable tr) {
+        if (tr == null) {
+            return "";
+        }
+        StringWriter stringWriter = new StringWriter();
+        PrintWriter printWriter = new PrintWriter(stringWriter);
+        tr.printStackTrace(printWriter);
+        printWriter.flush();
+        return stringWriter.toString();
+    }
+
+    public static boolean isLoggable(String tag, int level) {
+        return true;
+    }
+
+    /**
+     * Returns a value depending on all printed messages so the printing
+     * cannot be eliminated by the compiler.
+     *
+     * @return the checksum of printed messages.
+     */
+    public static int getChecksum() {
+        return checksum;
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.noveogroup.android.benchmark;
+
+import com.noveogroup.android.log.LegacyCallerLookup;
+import com.noveogroup.android.log.Pattern;
+import com.noveogroup.android.log.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a caller lookup at different stack depths.
+ * <p/>
+ * {@code legacy} is the lookup used before the bounded caller lookup,
+ * {@code lookup} is {@link Utils#getCaller()} and {@code lookupAndRender}
+ * additionally renders the caller with "%caller %source" pattern
+ * (rendered call sites are cached by the pattern).
+ * {@code callerClassName} is {@link Utils#getCallerClassName()} that uses
+ * the caller resolution strategy chosen for the running JVM.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallerBenchmark {
+
+    @Param({"20", "100", "300"})
+    public int depth;
+
+    private int extraDepth;
+    private final Pattern pattern = Pattern.compile("%caller %source");
+    private final StringBuilder builder = new StringBuilder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // JMH infrastructure already occupies some frames
+        extraDepth = Math.max(0, depth - new Throwable().getStackTrace().length);
+    }
+
+    @Benchmark
+    public Object legacy() {
+        return legacy(extraDepth);
+    }
+
+    @Benchmark
+    public Object lookup() {
+        return lookup(extraDepth);
+    }
+
+    @Benchmark
+    public Object lookupAndRender() {
+        return lookupAndRender(extraDepth);
+    }
+
+    @Benchmark
+    public Object callerClassName() {
+        return callerClassName(extraDepth);
+    }
+
+    private Object legacy(int depth) {
+        return depth > 0 ? legacy(depth - 1) : LegacyCallerLookup.getCaller();
+    }
+
+    private Object lookup(int depth) {
+        return depth > 0 ? lookup(depth - 1) : Utils.getCaller();
+    }
+
+    private Object callerClassName(int depth) {
+        return depth > 0 ? callerClassName(depth - 1) : Utils.getCallerClassName();
+    }
+
+    private Object lookupAndRender(int depth) {
+        if (depth > 0) {
+            return lookupAndRender(depth - 1);
+        } else {
+            builder.setLength(0);
+            pattern.apply(builder, Utils.getCaller(), null, null);
+            return builder;
+        }
+    }
+
+}
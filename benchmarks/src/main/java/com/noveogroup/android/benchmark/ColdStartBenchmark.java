@@ -0,0 +1,203 @@
+package com.noveogroup.android.benchmark;
+
+import com.noveogroup.android.log.CompiledConfiguration;
+import com.noveogroup.android.log.ConfigurationCompiler;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Cold start cost of the logger: time to the first printed message and
+ * bytes allocated on the way, measured by {@link ColdStartProbe} in fresh
+ * JVMs. JMH forks keep one configuration for all runs, so the JVMs are
+ * launched directly.
+ * <p/>
+ * Generated configurations with 1, 50 and 500 logger entries are placed
+ * before the benchmark jar in the classpath. Each configuration is measured
+ * as a properties file and, if a Java compiler is available, as a compiled
+ * configuration. Run it as
+ * <pre>
+ * java -cp target/benchmarks.jar com.noveogroup.android.benchmark.ColdStartBenchmark [runs] [sizes...]
+ * </pre>
+ */
+public final class ColdStartBenchmark {
+
+    private static final int DEFAULT_RUNS = 20;
+    private static final int[] DEFAULT_SIZES = {1, 50, 500};
+
+    private ColdStartBenchmark() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 1) {
+            sizes = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                sizes[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+
+        String jarPath = new File(ColdStartBenchmark.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        JavaCompiler javaCompiler = ToolProvider.getSystemJavaCompiler();
+        if (javaCompiler == null) {
+            System.out.println("Java compiler is not available. Compiled configurations are skipped");
+        }
+
+        System.out.printf("%-12s %8s %6s %14s %14s %14s%n",
+                "mode", "entries", "runs", "median, us", "min, us", "median, KB");
+        for (int size : sizes) {
+            Properties properties = createConfiguration(size);
+
+            File propertiesDirectory = createDirectory("cold-start-properties-" + size);
+            writeProperties(propertiesDirectory, properties);
+            report("properties", size, measure(propertiesDirectory, jarPath, runs));
+            delete(propertiesDirectory);
+
+            if (javaCompiler != null) {
+                File compiledDirectory = createDirectory("cold-start-compiled-" + size);
+                compileConfiguration(javaCompiler, compiledDirectory, jarPath, properties);
+                report("compiled", size, measure(compiledDirectory, jarPath, runs));
+                delete(compiledDirectory);
+            }
+        }
+    }
+
+    // a mix of plain, shortened and caller dependent patterns of a typical application
+    private static Properties createConfiguration(int size) {
+        Properties properties = new Properties();
+        properties.setProperty("root", "INFO:%logger{-1}:%date %caller%n");
+        for (int i = 1; i < size; i++) {
+            String loggerName = "logger.com.example.module" + i;
+            switch (i % 4) {
+                case 0:
+                    properties.setProperty(loggerName, "DEBUG:Module" + i);
+                    break;
+                case 1:
+                    properties.setProperty(loggerName, "WARN:%logger{-1}:%level %caller{-2}");
+                    break;
+                case 2:
+                    properties.setProperty(loggerName, "INFO:Module" + i + ":%d{HH:mm:ss} [%thread] %source");
+                    break;
+                default:
+                    properties.setProperty(loggerName, "VERBOSE:%20logger{.10}:%(%p %c{1})");
+                    break;
+            }
+        }
+        return properties;
+    }
+
+    private static File createDirectory(String prefix) throws IOException {
+        File directory = File.createTempFile(prefix, "");
+        if (!directory.delete() || !directory.mkdirs()) {
+            throw new IOException("cannot create " + directory);
+        }
+        return directory;
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        if (!file.delete()) {
+            System.out.println("cannot delete " + file);
+        }
+    }
+
+    private static void writeProperties(File directory, Properties properties) throws IOException {
+        OutputStream outputStream = new FileOutputStream(new File(directory, "android-logger.properties"));
+        try {
+            properties.store(outputStream, null);
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private static void compileConfiguration(JavaCompiler javaCompiler, File directory, String jarPath,
+                                             Properties properties) throws IOException {
+        String className = CompiledConfiguration.CLASS_NAME;
+        File sourceFile = new File(directory, className.replace('.', File.separatorChar) + ".java");
+        if (!sourceFile.getParentFile().mkdirs()) {
+            throw new IOException("cannot create " + sourceFile.getParentFile());
+        }
+        OutputStream outputStream = new FileOutputStream(sourceFile);
+        try {
+            outputStream.write(new ConfigurationCompiler(properties).generateSource().getBytes("UTF-8"));
+        } finally {
+            outputStream.close();
+        }
+
+        int result = javaCompiler.run(null, null, null, "-encoding", "UTF-8",
+                "-classpath", jarPath, "-d", directory.getPath(), sourceFile.getPath());
+        if (result != 0) {
+            throw new IOException("cannot compile " + sourceFile);
+        }
+    }
+
+    private static List<long[]> measure(File directory, String jarPath, int runs) throws Exception {
+        String javaPath = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classPath = directory.getPath() + File.pathSeparator + jarPath;
+
+        List<long[]> results = new ArrayList<long[]>();
+        for (int i = 0; i < runs; i++) {
+            Process process = new ProcessBuilder(javaPath, "-cp", classPath, ColdStartProbe.class.getName())
+                    .redirectErrorStream(true)
+                    .start();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), "UTF-8"));
+            String line;
+            String lastLine = null;
+            try {
+                while ((line = reader.readLine()) != null) {
+                    lastLine = line;
+                }
+            } finally {
+                reader.close();
+            }
+            if (process.waitFor() != 0 || lastLine == null) {
+                throw new IllegalStateException("probe failed: " + lastLine);
+            }
+
+            String[] values = lastLine.trim().split(" ");
+            results.add(new long[]{Long.parseLong(values[0]), Long.parseLong(values[1])});
+        }
+        return results;
+    }
+
+    private static void report(String mode, int size, List<long[]> results) {
+        long[] times = new long[results.size()];
+        long[] allocations = new long[results.size()];
+        for (int i = 0; i < results.size(); i++) {
+            times[i] = results.get(i)[0];
+            allocations[i] = results.get(i)[1];
+        }
+        Arrays.sort(times);
+        Arrays.sort(allocations);
+
+        System.out.printf("%-12s %8d %6d %14.1f %14.1f %14.1f%n", mode, size, results.size(),
+                median(times) / 1000.0, times[0] / 1000.0, median(allocations) / 1024.0);
+    }
+
+    private static double median(long[] sortedValues) {
+        int middle = sortedValues.length / 2;
+        if (sortedValues.length % 2 == 1) {
+            return sortedValues[middle];
+        } else {
+            return (sortedValues[middle - 1] + sortedValues[middle]) / 2.0;
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.noveogroup.android.benchmark;
+
+import com.noveogroup.android.log.Logger;
+import com.noveogroup.android.log.LoggerManager;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the first use of {@link LoggerManager} in a fresh JVM:
+ * class loading, static initialization, reading of the configuration and
+ * creation of the first logger and handler, up to the first printed message.
+ * <p/>
+ * Prints the elapsed time in nanoseconds and the number of bytes allocated
+ * by the main thread. It is launched by {@link ColdStartBenchmark}.
+ */
+public final class ColdStartProbe {
+
+    private ColdStartProbe() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void main(String[] args) {
+        // initialize the management beans before the measurement
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        allocatedBytes(threadBean, threadId);
+
+        long allocatedBefore = allocatedBytes(threadBean, threadId);
+        long start = System.nanoTime();
+
+        Logger logger = LoggerManager.getLogger("com.example.app.MainActivity");
+        logger.i("application is started");
+
+        long time = System.nanoTime() - start;
+        long allocated = allocatedBytes(threadBean, threadId) - allocatedBefore;
+        System.out.println(time + " " + allocated);
+    }
+
+    private static long allocatedBytes(ThreadMXBean threadBean, long threadId) {
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(threadId);
+        } else {
+            return -1;
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.noveogroup.android.benchmark;
+
+import com.noveogroup.android.log.Logger;
+import com.noveogroup.android.log.PatternHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link PatternHandler#print} for disabled and enabled levels,
+ * with and without caller information and with a throwable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerBenchmark {
+
+    private static final String LOGGER_NAME = "com.example.android.MainActivity";
+
+    private final PatternHandler disabledHandler = new PatternHandler(Logger.Level.WARN, "%logger", "%date %caller%n");
+    private final PatternHandler plainHandler = new PatternHandler(Logger.Level.VERBOSE, "%logger{-1}", "%level");
+    private final PatternHandler dateHandler = new PatternHandler(Logger.Level.VERBOSE, "%logger{-1}", "%date %level");
+    private final PatternHandler callerHandler = new PatternHandler(Logger.Level.VERBOSE, "%logger", "%date %caller%n");
+
+    private final Throwable throwable = new IllegalStateException("benchmark");
+    private int counter;
+
+    @Benchmark
+    public void disabled() {
+        disabledHandler.print(LOGGER_NAME, Logger.Level.DEBUG, null, "message");
+    }
+
+    @Benchmark
+    public void disabledFormat() {
+        disabledHandler.print(LOGGER_NAME, Logger.Level.DEBUG, null, "message %d", counter++);
+    }
+
+    @Benchmark
+    public void enabled() {
+        plainHandler.print(LOGGER_NAME, Logger.Level.DEBUG, null, "message");
+    }
+
+    @Benchmark
+    public void enabledFormat() {
+        plainHandler.print(LOGGER_NAME, Logger.Level.DEBUG, null, "message %d", counter++);
+    }
+
+    @Benchmark
+    public void enabledDate() {
+        dateHandler.print(LOGGER_NAME, Logger.Level.DEBUG, null, "message");
+    }
+
+    @Benchmark
+    public void withCaller() {
+        callerHandler.print(LOGGER_NAME, Logger.Level.DEBUG, null, "message");
+    }
+
+    @Benchmark
+    public void withThrowable() {
+        plainHandler.print(LOGGER_NAME, Logger.Level.ERROR, throwable, "message");
+    }
+
+}
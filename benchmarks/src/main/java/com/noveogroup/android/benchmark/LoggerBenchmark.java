@@ -0,0 +1,93 @@
+package com.noveogroup.android.benchmark;
+
+import com.noveogroup.android.log.Log;
+import com.noveogroup.android.log.Logger;
+import com.noveogroup.android.log.LoggerManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link LoggerManager#getLogger} and of logging through
+ * configured loggers and the static {@link Log} facade
+ * (see android-logger.properties of this module).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerBenchmark {
+
+    private final Logger disabledLogger = LoggerManager.getLogger("com.example.disabled.Service");
+    private final Logger plainLogger = LoggerManager.getLogger("com.example.plain.Service");
+    private final Logger callerLogger = LoggerManager.getLogger("com.example.caller.Service");
+
+    private final Throwable throwable = new IllegalStateException("benchmark");
+    private int counter;
+
+    @Benchmark
+    public Logger getLoggerByName() {
+        return LoggerManager.getLogger("com.example.plain.Service");
+    }
+
+    @Benchmark
+    public Logger getLoggerByClass() {
+        return LoggerManager.getLogger(LoggerBenchmark.class);
+    }
+
+    @Benchmark
+    public Logger getLoggerByCaller() {
+        return LoggerManager.getLogger();
+    }
+
+    @Benchmark
+    public void disabled() {
+        disabledLogger.d("message");
+    }
+
+    @Benchmark
+    public void disabledFormat() {
+        disabledLogger.d("message %d", counter++);
+    }
+
+    @Benchmark
+    public void enabled() {
+        plainLogger.d("message");
+    }
+
+    @Benchmark
+    public void enabledFormat() {
+        plainLogger.d("message %d", counter++);
+    }
+
+    @Benchmark
+    public void withCaller() {
+        callerLogger.d("message");
+    }
+
+    @Benchmark
+    public void staticDisabled() {
+        Log.v("message");
+    }
+
+    @Benchmark
+    public void staticEnabled() {
+        Log.d("message");
+    }
+
+    @Benchmark
+    public void withThrowable() {
+        plainLogger.e(throwable, "message");
+    }
+
+}
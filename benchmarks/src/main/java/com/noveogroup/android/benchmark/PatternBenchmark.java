@@ -0,0 +1,63 @@
+package com.noveogroup.android.benchmark;
+
+import com.noveogroup.android.log.Logger;
+import com.noveogroup.android.log.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link Pattern#apply} for typical patterns
+ * and of {@link Pattern#compile(String)} (which is cached).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternBenchmark {
+
+    private static final String LOGGER_NAME = "com.example.android.MainActivity";
+    private static final StackTraceElement CALLER =
+            new StackTraceElement("com.example.android.MainActivity", "onCreate", "MainActivity.java", 154);
+
+    @Param({"%logger", "%logger{-1.-20}", "%d %p", "%date %caller%n", "[%-40(%d %thread)] %level %source"})
+    public String pattern;
+
+    private Pattern compiledPattern;
+    private final StringBuilder builder = new StringBuilder();
+
+    @Setup
+    public void setUp() {
+        compiledPattern = Pattern.compile(pattern);
+    }
+
+    @Benchmark
+    public Object apply() {
+        builder.setLength(0);
+        compiledPattern.apply(builder, CALLER, LOGGER_NAME, Logger.Level.DEBUG);
+        return builder;
+    }
+
+    @Benchmark
+    public String applyToString() {
+        return compiledPattern.apply(CALLER, LOGGER_NAME, Logger.Level.DEBUG);
+    }
+
+    @Benchmark
+    public Pattern compile() {
+        return Pattern.compile(pattern);
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.noveogroup.android.benchmark;
+
+import com.noveogroup.android.log.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link Utils#shortenClassName(String, int, int)} for
+ * the conversion specifiers from the documentation of %logger.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShortenBenchmark {
+
+    @Param({"0.0", "3.0", "-1.0", "0.30", "0.-25", "3.-18", "-3.-10"})
+    public String specifier;
+
+    @Param({"com.example.android.MainActivity$SubClass",
+            "org.example.very.deep.package.name.with.many.segments.and.a.LongClassName"})
+    public String className;
+
+    private int count;
+    private int length;
+
+    @Setup
+    public void setUp() {
+        String[] parts = specifier.split("\\.");
+        count = Integer.parseInt(parts[0]);
+        length = Integer.parseInt(parts[1]);
+    }
+
+    @Benchmark
+    public String shortenClassName() {
+        return Utils.shortenClassName(className, count, length);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.noveogroup.android.log;
+
+/**
+ * Caller lookup as it was implemented before {@link CallerLookup}:
+ * captures the whole stack of the current thread and scans it.
+ * <p/>
+ * The class is placed into the library package to be recognized
+ * as a library frame.
+ */
+public final class LegacyCallerLookup {
+
+    private LegacyCallerLookup() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final String PACKAGE_NAME = Logger.class.getPackage().getName();
+
+    public static StackTraceElement getCaller() {
+        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
+        if (stackTrace == null || stackTrace.length <= 0) {
+            return null; // if stack trace is null or empty
+        }
+
+        boolean packageFound = false;
+        for (StackTraceElement stackTraceElement : stackTrace) {
+            if (!packageFound) {
+                if (stackTraceElement.getClassName().startsWith(PACKAGE_NAME)) {
+                    packageFound = true;
+                }
+            } else {
+                if (!stackTraceElement.getClassName().startsWith(PACKAGE_NAME)) {
+                    return stackTraceElement;
+                }
+            }
+        }
+        return stackTrace[stackTrace.length - 1];
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log.compiler;
+
+import com.noveogroup.android.log.CompiledConfiguration;
+import com.noveogroup.android.log.ConfigurationCompiler;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * The annotation processor compiling {@code android-logger.properties}
+ * file at build time.
+ * <p/>
+ * The processor validates the configuration and generates the class named
+ * {@link CompiledConfiguration#CLASS_NAME} which is loaded by the logger
+ * manager instead of the properties file. Configuration errors fail the build.
+ * <p/>
+ * The properties file is looked for in the class output and the source path.
+ * Its location can be specified explicitly using the
+ * {@code -AandroidLogger.properties=<path>} option.
+ */
+public class ConfigurationProcessor extends AbstractProcessor {
+
+    /**
+     * The option specifying the path of the properties file.
+     */
+    public static final String OPTION_PROPERTIES = "androidLogger.properties";
+
+    private static final String PROPERTIES_NAME = "android-logger.properties";
+
+    private boolean generated = false;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Collections.singleton(OPTION_PROPERTIES);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (generated || roundEnv.processingOver()) {
+            return false;
+        }
+        generated = true;
+
+        try {
+            Properties properties = readProperties();
+            if (properties == null) {
+                printMessage(Diagnostic.Kind.NOTE, "'%s' file is not found. Logger configuration is not compiled", PROPERTIES_NAME);
+                return false;
+            }
+
+            ConfigurationCompiler compiler = new ConfigurationCompiler(properties);
+            for (String warning : compiler.getWarnings()) {
+                printMessage(Diagnostic.Kind.WARNING, "%s: %s", PROPERTIES_NAME, warning);
+            }
+            for (String error : compiler.getErrors()) {
+                printMessage(Diagnostic.Kind.ERROR, "%s: %s", PROPERTIES_NAME, error);
+            }
+            if (compiler.getErrors().isEmpty()) {
+                writeSource(compiler.generateSource());
+            }
+        } catch (IOException e) {
+            printMessage(Diagnostic.Kind.ERROR, "Cannot compile logger configuration: %s", e);
+        }
+        return false;
+    }
+
+    private void printMessage(Diagnostic.Kind kind, String format, Object... args) {
+        processingEnv.getMessager().printMessage(kind, String.format(format, args));
+    }
+
+    private Properties readProperties() throws IOException {
+        String path = processingEnv.getOptions().get(OPTION_PROPERTIES);
+        if (path != null) {
+            return loadProperties(new FileInputStream(path));
+        }
+
+        JavaFileManager.Location[] locations = {StandardLocation.CLASS_OUTPUT, StandardLocation.SOURCE_PATH};
+        for (JavaFileManager.Location location : locations) {
+            InputStream inputStream;
+            try {
+                FileObject resource = processingEnv.getFiler().getResource(location, "", PROPERTIES_NAME);
+                inputStream = resource.openInputStream();
+            } catch (IOException e) {
+                continue;
+            } catch (IllegalArgumentException e) {
+                // the location is not supported by the compiler
+                continue;
+            }
+            return loadProperties(inputStream);
+        }
+        return null;
+    }
+
+    private static Properties loadProperties(InputStream inputStream) throws IOException {
+        try {
+            Properties properties = new Properties();
+            properties.load(inputStream);
+            return properties;
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private void writeSource(String source) throws IOException {
+        Writer writer = processingEnv.getFiler().createSourceFile(CompiledConfiguration.CLASS_NAME).openWriter();
+        try {
+            writer.write(source);
+        } finally {
+            writer.close();
+        }
+    }
+
+}
@@ -109,32 +109,32 @@ public abstract class AbstractLogger implements Logger {
 
     @Override
     public void v(Throwable throwable) {
-        print(Logger.Level.VERBOSE, throwable, null);
+        print(Logger.Level.VERBOSE, throwable, (String) null);
     }
 
     @Override
     public void d(Throwable throwable) {
-        print(Logger.Level.DEBUG, throwable, null);
+        print(Logger.Level.DEBUG, throwable, (String) null);
     }
 
     @Override
     public void i(Throwable throwable) {
-        print(Logger.Level.INFO, throwable, null);
+        print(Logger.Level.INFO, throwable, (String) null);
     }
 
     @Override
     public void w(Throwable throwable) {
-        print(Logger.Level.WARN, throwable, null);
+        print(Logger.Level.WARN, throwable, (String) null);
     }
 
     @Override
     public void e(Throwable throwable) {
-        print(Logger.Level.ERROR, throwable, null);
+        print(Logger.Level.ERROR, throwable, (String) null);
     }
 
     @Override
     public void a(Throwable throwable) {
-        print(Logger.Level.ASSERT, throwable, null);
+        print(Logger.Level.ASSERT, throwable, (String) null);
     }
 
     @Override
@@ -257,4 +257,71 @@ public abstract class AbstractLogger implements Logger {
         print(Level.ASSERT, null, message);
     }
 
+    @Override
+    public void print(Level level, Throwable throwable, MessageSupplier messageSupplier) {
+        if (isEnabled(level)) {
+            print(level, throwable, messageSupplier == null ? null : messageSupplier.get());
+        }
+    }
+
+    @Override
+    public void v(Throwable throwable, MessageSupplier messageSupplier) {
+        print(Level.VERBOSE, throwable, messageSupplier);
+    }
+
+    @Override
+    public void d(Throwable throwable, MessageSupplier messageSupplier) {
+        print(Level.DEBUG, throwable, messageSupplier);
+    }
+
+    @Override
+    public void i(Throwable throwable, MessageSupplier messageSupplier) {
+        print(Level.INFO, throwable, messageSupplier);
+    }
+
+    @Override
+    public void w(Throwable throwable, MessageSupplier messageSupplier) {
+        print(Level.WARN, throwable, messageSupplier);
+    }
+
+    @Override
+    public void e(Throwable throwable, MessageSupplier messageSupplier) {
+        print(Level.ERROR, throwable, messageSupplier);
+    }
+
+    @Override
+    public void a(Throwable throwable, MessageSupplier messageSupplier) {
+        print(Level.ASSERT, throwable, messageSupplier);
+    }
+
+    @Override
+    public void v(MessageSupplier messageSupplier) {
+        print(Level.VERBOSE, null, messageSupplier);
+    }
+
+    @Override
+    public void d(MessageSupplier messageSupplier) {
+        print(Level.DEBUG, null, messageSupplier);
+    }
+
+    @Override
+    public void i(MessageSupplier messageSupplier) {
+        print(Level.INFO, null, messageSupplier);
+    }
+
+    @Override
+    public void w(MessageSupplier messageSupplier) {
+        print(Level.WARN, null, messageSupplier);
+    }
+
+    @Override
+    public void e(MessageSupplier messageSupplier) {
+        print(Level.ERROR, null, messageSupplier);
+    }
+
+    @Override
+    public void a(MessageSupplier messageSupplier) {
+        print(Level.ASSERT, null, messageSupplier);
+    }
+
 }
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@link Handler} that prints messages asynchronously.
+ * <p/>
+ * Logging events are stored in a bounded ring buffer of preallocated slots
+ * on the calling thread and printed by a wrapped handler on a dedicated
+ * daemon thread. The calling thread never blocks: if the buffer is full
+ * the message is dropped and the number of dropped messages is reported
+ * by the consumer thread when it catches up.
+ * <p/>
+ * The caller, the name of the thread, the time and the diagnostic context
+ * of an event are captured before the event is queued, so patterns like
+ * {@code %caller}, {@code %thread} or {@code %X} print the same values as if the message was printed
+ * synchronously. Message format arguments are formatted on the consumer
+ * thread, so they should not be modified after they are logged.
+ */
+public class AsyncHandler implements Handler {
+
+    /**
+     * Default capacity of the ring buffer.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final long CLOSE_TIMEOUT = 100000000L; // 100 ms
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final Handler handler;
+    private final boolean callerNeeded;
+
+    private final int mask;
+    private final LogEvent[] events;
+    // a slot is free for producer at position p if its sequence is p
+    // and filled for consumer at position p if its sequence is p + 1
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0; // is accessed by consumer thread only
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private long reportedCount = 0; // is accessed by consumer thread only
+    private final Thread consumer;
+    private volatile boolean sleeping = false;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates new {@link AsyncHandler} with the default capacity.
+     *
+     * @param handler the handler to print messages.
+     */
+    public AsyncHandler(Handler handler) {
+        this(handler, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates new {@link AsyncHandler}.
+     *
+     * @param handler  the handler to print messages.
+     * @param capacity the maximum number of queued messages.
+     *                 It will be rounded up to a power of two.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public AsyncHandler(Handler handler, int capacity) {
+        if (handler == null) {
+            throw new IllegalArgumentException("handler is not set");
+        }
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("wrong capacity: " + capacity);
+        }
+
+        this.handler = handler;
+        this.callerNeeded = LogEvent.isCallerNeeded(handler);
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.events = new LogEvent[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            events[i] = new LogEvent();
+            sequences.set(i, i);
+        }
+
+        this.consumer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                consume();
+            }
+        }, "AsyncHandler-" + THREAD_COUNTER.incrementAndGet());
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Checks if the wrapped handler prints information about a caller.
+     *
+     * @return true if the caller is captured before a message is queued.
+     */
+    boolean isCallerNeeded() {
+        return callerNeeded;
+    }
+
+    /**
+     * Returns the consumer thread printing queued messages.
+     *
+     * @return the consumer thread.
+     */
+    Thread getConsumer() {
+        return consumer;
+    }
+
+    /**
+     * Returns the wrapped handler.
+     *
+     * @return the handler printing messages.
+     */
+    public Handler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Returns the capacity of the ring buffer.
+     *
+     * @return the maximum number of queued messages.
+     */
+    public int getCapacity() {
+        return events.length;
+    }
+
+    /**
+     * Returns the number of messages dropped because the ring buffer was full.
+     *
+     * @return the total number of dropped messages.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Stops the consumer thread after all queued messages are printed.
+     * Messages logged after closing are printed synchronously.
+     */
+    public void close() {
+        closed = true;
+        LockSupport.unpark(consumer);
+    }
+
+    /**
+     * Checks if this handler is closed.
+     *
+     * @return true if {@link #close()} was called.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public boolean isEnabled(Logger.Level level) {
+        return handler.isEnabled(level);
+    }
+
+    @Override
+    public void print(String loggerName, Logger.Level level,
+                      Throwable throwable, String message) throws IllegalArgumentException {
+        if (isEnabled(level)) {
+            if (closed) {
+                handler.print(loggerName, level, throwable, message);
+            } else {
+                enqueue(loggerName, level, throwable, message, null, false);
+            }
+        }
+    }
+
+    @Override
+    public void print(String loggerName, Logger.Level level,
+                      Throwable throwable, String messageFormat, Object... args) throws IllegalArgumentException {
+        if (isEnabled(level)) {
+            if (messageFormat == null && args != null && args.length > 0) {
+                throw new IllegalArgumentException("message format is not set but arguments are presented");
+            }
+
+            if (closed) {
+                handler.print(loggerName, level, throwable, messageFormat, args);
+            } else {
+                enqueue(loggerName, level, throwable, messageFormat, args, true);
+            }
+        }
+    }
+
+    private void enqueue(String loggerName, Logger.Level level, Throwable throwable,
+                         String message, Object[] args, boolean formatted) {
+        long position = tail.get();
+        while (true) {
+            long difference = sequences.get((int) position & mask) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // the buffer is full
+                droppedCount.incrementAndGet();
+                return;
+            } else {
+                position = tail.get();
+            }
+        }
+
+        int index = (int) position & mask;
+        events[index].capture(loggerName, level, throwable, message, args, formatted, callerNeeded);
+        sequences.set(index, position + 1);
+
+        if (sleeping) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void consume() {
+        boolean drained = false;
+        while (true) {
+            int index = (int) head & mask;
+            if (sequences.get(index) == head + 1) {
+                LogEvent event = events[index];
+                try {
+                    event.replay(handler);
+                } catch (ThreadDeath e) {
+                    throw e;
+                } catch (Throwable ignored) {
+                    // the caller has already returned so it cannot be reported.
+                    // errors of arguments' toString() should not stop the consumer
+                } finally {
+                    event.clear();
+                }
+                sequences.set(index, head + events.length);
+                head++;
+                drained = false;
+            } else {
+                reportDropped();
+
+                // wait for one more period for messages enqueued concurrently with closing
+                if (closed) {
+                    if (drained) {
+                        return;
+                    }
+                    drained = true;
+                }
+
+                // an idle consumer sleeps until a producer or close() wakes it up
+                sleeping = true;
+                if (sequences.get(index) != head + 1) {
+                    if (drained) {
+                        LockSupport.parkNanos(this, CLOSE_TIMEOUT);
+                    } else {
+                        LockSupport.park(this);
+                    }
+                }
+                sleeping = false;
+            }
+        }
+    }
+
+    private void reportDropped() {
+        long dropped = droppedCount.get();
+        if (dropped > reportedCount) {
+            long count = dropped - reportedCount;
+            reportedCount = dropped;
+            try {
+                handler.print(AsyncHandler.class.getName(), Logger.Level.WARN, null,
+                        "%d log messages were dropped because the queue was full", count);
+            } catch (ThreadDeath e) {
+                throw e;
+            } catch (Throwable ignored) {
+                // nothing can be done here
+            }
+        }
+    }
+
+}
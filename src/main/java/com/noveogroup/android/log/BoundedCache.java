@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simple concurrent cache with limited number of entries.
+ * <p/>
+ * When the cache is full an arbitrary entry is evicted for each new one,
+ * so the rest of the cache stays warm. This is enough for caches of
+ * rendered strings where a miss costs just one rendering.
+ *
+ * @param <K> the type of keys.
+ * @param <V> the type of values.
+ */
+final class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<K, V> map;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Creates new {@link BoundedCache}.
+     *
+     * @param maxSize the maximum number of entries.
+     */
+    public BoundedCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<K, V>();
+    }
+
+    /**
+     * Returns a cached value.
+     *
+     * @param key the key. Cannot be {@code null}.
+     * @return the value or {@code null} if there is no value in the cache.
+     */
+    public V get(K key) {
+        return map.get(key);
+    }
+
+    /**
+     * Puts a value to the cache if there is no value for the key.
+     *
+     * @param key   the key. Cannot be {@code null}.
+     * @param value the value. Cannot be {@code null}.
+     * @return the value that is in the cache after this call.
+     */
+    public V put(K key, V value) {
+        V oldValue = map.putIfAbsent(key, value);
+        if (oldValue != null) {
+            return oldValue;
+        }
+        if (size.incrementAndGet() > maxSize) {
+            evict(key);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     *
+     * @return the number of entries.
+     */
+    int size() {
+        return map.size();
+    }
+
+    private void evict(K newKey) {
+        for (K key : map.keySet()) {
+            if (!key.equals(newKey) && map.remove(key) != null) {
+                size.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log;
+
+import java.lang.reflect.Method;
+
+/**
+ * Finds a stack trace element of the code that calls logging methods.
+ * <p/>
+ * The lookup skips frames of this library and frames of configured wrapper
+ * classes and packages. Only the frames up to the caller are inspected if
+ * the runtime allows that: {@code StackWalker} is used on Java 9+ and
+ * stack trace elements are read one by one on Java 6-8. Otherwise
+ * (for example on Android) the whole stack trace is captured and only
+ * scanning stops at the caller.
+ * <p/>
+ * Bridges from other logging APIs can set a caller boundary, which is
+ * the class called by the logging code. The caller is then the first
+ * frame after the frames of the boundary class.
+ */
+final class CallerLookup {
+
+    private CallerLookup() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final String PACKAGE_NAME = Logger.class.getPackage().getName();
+
+    /**
+     * The maximum number of frames inspected while looking for a caller.
+     */
+    static final int MAX_DEPTH = 256;
+
+    private static volatile String[] wrappers = new String[0];
+
+    private static final ThreadLocal<String> BOUNDARY = new ThreadLocal<String>();
+
+    private static volatile CallerResolver.StackWalkerResolver stackWalker;
+    private static volatile Method getStackTraceDepth;
+    private static volatile Method getStackTraceElement;
+
+    static {
+        try {
+            CallerResolver.StackWalkerResolver resolver = new CallerResolver.StackWalkerResolver();
+            // check the walker really works
+            if (resolver.getCaller() != null) {
+                stackWalker = resolver;
+            }
+        } catch (Throwable ignored) {
+            // StackWalker is not available
+        }
+
+        try {
+            Method depthMethod = Throwable.class.getDeclaredMethod("getStackTraceDepth");
+            Method elementMethod = Throwable.class.getDeclaredMethod("getStackTraceElement", int.class);
+            depthMethod.setAccessible(true);
+            elementMethod.setAccessible(true);
+
+            // check the methods really work
+            Throwable throwable = new Throwable();
+            int depth = (Integer) depthMethod.invoke(throwable);
+            if (depth > 0 && elementMethod.invoke(throwable, 0) instanceof StackTraceElement) {
+                getStackTraceDepth = depthMethod;
+                getStackTraceElement = elementMethod;
+            }
+        } catch (Throwable ignored) {
+            // indexed access is not available so the whole stack trace will be used
+        }
+    }
+
+    /**
+     * Adds a wrapper class or package. Frames of wrappers are skipped
+     * as well as frames of this library.
+     *
+     * @param name the name of a class or a package.
+     */
+    public static synchronized void addWrapper(String name) {
+        String[] oldWrappers = wrappers;
+        for (String wrapper : oldWrappers) {
+            if (wrapper.equals(name)) {
+                return;
+            }
+        }
+        String[] newWrappers = new String[oldWrappers.length + 1];
+        System.arraycopy(oldWrappers, 0, newWrappers, 0, oldWrappers.length);
+        newWrappers[oldWrappers.length] = name;
+        wrappers = newWrappers;
+    }
+
+    /**
+     * Checks if the class belongs to this library.
+     *
+     * @param className the name of the class.
+     * @return true if the class belongs to this library.
+     */
+    public static boolean isLibraryClass(String className) {
+        return className.startsWith(PACKAGE_NAME);
+    }
+
+    /**
+     * Checks if the class is a wrapper or belongs to a wrapper package.
+     *
+     * @param className the name of the class.
+     * @return true if frames of the class should be skipped.
+     */
+    public static boolean isWrapperClass(String className) {
+        for (String wrapper : wrappers) {
+            if (className.startsWith(wrapper)) {
+                int length = wrapper.length();
+                if (className.length() == length
+                        || className.charAt(length) == '.' || className.charAt(length) == '$') {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the caller boundary of the current thread. If the boundary is
+     * set the caller is the frame that follows frames of the boundary class.
+     *
+     * @param className the fully qualified name of the boundary class
+     *                  or {@code null} to skip frames of this library and
+     *                  wrappers instead.
+     * @return the previous boundary of the current thread.
+     */
+    public static String setBoundary(String className) {
+        String previous = BOUNDARY.get();
+        if (previous != className) {
+            BOUNDARY.set(className);
+        }
+        return previous;
+    }
+
+    /**
+     * Returns the caller boundary of the current thread.
+     *
+     * @return the boundary or {@code null}.
+     */
+    static String getBoundary() {
+        return BOUNDARY.get();
+    }
+
+    /**
+     * Returns stack trace element corresponding to the caller.
+     * Only the first {@link #MAX_DEPTH} frames are inspected: if the caller
+     * is deeper the last inspected element is returned.
+     *
+     * @return the caller stack trace element or {@code null}.
+     */
+    public static StackTraceElement findCaller() {
+        CallerResolver.StackWalkerResolver walker = stackWalker;
+        if (walker != null) {
+            try {
+                return walker.getCaller();
+            } catch (Exception e) {
+                // something went wrong. don't try again
+                stackWalker = null;
+            }
+        }
+
+        Throwable throwable = new Throwable();
+        String boundary = BOUNDARY.get();
+
+        Method depthMethod = getStackTraceDepth;
+        Method elementMethod = getStackTraceElement;
+        if (depthMethod != null && elementMethod != null) {
+            try {
+                int depth = (Integer) depthMethod.invoke(throwable);
+                return findCaller(throwable, elementMethod, null, depth, boundary);
+            } catch (Exception e) {
+                // something went wrong. don't try again
+                getStackTraceDepth = null;
+                getStackTraceElement = null;
+            }
+        }
+
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+        if (stackTrace == null || stackTrace.length <= 0) {
+            return null; // if stack trace is null or empty
+        }
+        try {
+            return findCaller(throwable, null, stackTrace, stackTrace.length, boundary);
+        } catch (Exception e) {
+            // cannot happen when the whole stack trace is captured
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static StackTraceElement findCaller(Throwable throwable, Method elementMethod,
+                                                StackTraceElement[] stackTrace, int depth,
+                                                String boundary) throws Exception {
+        StackTraceElement element = null;
+        StackTraceElement caller = null;
+        boolean libraryFound = false;
+        boolean boundaryFound = false;
+        int limit = Math.min(depth, MAX_DEPTH);
+        for (int index = 0; index < limit; index++) {
+            element = stackTrace == null
+                    ? (StackTraceElement) elementMethod.invoke(throwable, index)
+                    : stackTrace[index];
+            String className = element.getClassName();
+            if (boundary != null) {
+                if (className.equals(boundary)) {
+                    boundaryFound = true;
+                    continue;
+                } else if (boundaryFound) {
+                    return element;
+                }
+            }
+            if (caller == null) {
+                if (!libraryFound) {
+                    libraryFound = isLibraryClass(className);
+                } else if (isCaller(className)) {
+                    caller = element;
+                    if (boundary == null) {
+                        return caller;
+                    }
+                }
+            }
+        }
+        // the boundary or the caller is not found
+        return caller == null ? element : caller;
+    }
+
+    private static boolean isCaller(String className) {
+        return !isLibraryClass(className) && !isWrapperClass(className);
+    }
+
+}
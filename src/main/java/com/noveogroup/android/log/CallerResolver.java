@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Strategy to find a name of a class that calls logging methods.
+ * <p/>
+ * Different runtimes provide different ways to inspect the stack.
+ * {@link #select()} probes the strategies once and returns the first one
+ * that works correctly on the current runtime.
+ * The lookup skips frames of this library and of wrapper classes.
+ */
+abstract class CallerResolver {
+
+    /**
+     * Returns the name of the caller class.
+     *
+     * @return the name of the class or {@code null} if the caller cannot be found.
+     */
+    public abstract String getCallerClassName();
+
+    /**
+     * Returns the name of this strategy.
+     *
+     * @return the name.
+     */
+    public abstract String getName();
+
+    private static boolean isCaller(String className) {
+        return !CallerLookup.isLibraryClass(className) && !CallerLookup.isWrapperClass(className);
+    }
+
+    /**
+     * Uses {@code java.lang.StackWalker} available since Java 9.
+     * Only the frames up to the caller are inspected.
+     * <p/>
+     * The walker is also used by {@link CallerLookup} to find the stack trace
+     * element of the caller without capturing the whole stack trace.
+     */
+    static final class StackWalkerResolver extends CallerResolver {
+
+        private final Object stackWalker;
+        private final Method walkMethod;
+        private final Method iteratorMethod;
+        private final Method getClassNameMethod;
+        private final Method toStackTraceElementMethod;
+        private final Object classNameFunction;
+        private final Object elementFunction;
+
+        public StackWalkerResolver() throws Exception {
+            Class<?> stackWalkerClass = Class.forName("java.lang.StackWalker");
+            Class<?> stackFrameClass = Class.forName("java.lang.StackWalker$StackFrame");
+            this.stackWalker = stackWalkerClass.getMethod("getInstance").invoke(null);
+            this.walkMethod = stackWalkerClass.getMethod("walk", Class.forName("java.util.function.Function"));
+            this.iteratorMethod = Class.forName("java.util.stream.BaseStream").getMethod("iterator");
+            this.getClassNameMethod = stackFrameClass.getMethod("getClassName");
+            this.toStackTraceElementMethod = stackFrameClass.getMethod("toStackTraceElement");
+            this.classNameFunction = createFunction(false);
+            this.elementFunction = createFunction(true);
+        }
+
+        private Object createFunction(final boolean element) throws Exception {
+            Class<?> functionClass = Class.forName("java.util.function.Function");
+            return Proxy.newProxyInstance(CallerResolver.class.getClassLoader(),
+                    new Class<?>[]{functionClass}, new InvocationHandler() {
+                        @Override
+                        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                            if (method.getName().equals("apply") && args != null && args.length == 1) {
+                                Iterator<?> frames = (Iterator<?>) iteratorMethod.invoke(args[0]);
+                                if (element) {
+                                    Object frame = findCaller(frames, CallerLookup.getBoundary());
+                                    return frame == null ? null : toStackTraceElementMethod.invoke(frame);
+                                } else {
+                                    Object frame = findCaller(frames, null);
+                                    return frame == null ? null : getClassNameMethod.invoke(frame);
+                                }
+                            } else if (method.getName().equals("hashCode")) {
+                                return System.identityHashCode(proxy);
+                            } else if (method.getName().equals("equals")) {
+                                return proxy == args[0];
+                            } else if (method.getName().equals("toString")) {
+                                return "StackWalkerResolver.function";
+                            } else {
+                                throw new UnsupportedOperationException(method.getName());
+                            }
+                        }
+                    });
+        }
+
+        // the same rules as CallerLookup uses for stack trace elements
+        private Object findCaller(Iterator<?> frames, String boundary) throws Exception {
+            Object frame = null;
+            Object caller = null;
+            boolean libraryFound = false;
+            boolean boundaryFound = false;
+            for (int depth = 0; frames.hasNext(); depth++) {
+                if (depth >= CallerLookup.MAX_DEPTH) {
+                    break; // the caller is too deep
+                }
+                frame = frames.next();
+                String className = (String) getClassNameMethod.invoke(frame);
+                if (boundary != null) {
+                    if (className.equals(boundary)) {
+                        boundaryFound = true;
+                        continue;
+                    } else if (boundaryFound) {
+                        return frame;
+                    }
+                }
+                if (caller == null) {
+                    if (!libraryFound) {
+                        libraryFound = CallerLookup.isLibraryClass(className);
+                    } else if (isCaller(className)) {
+                        caller = frame;
+                        if (boundary == null) {
+                            return caller;
+                        }
+                    }
+                }
+            }
+            return caller == null ? frame : caller;
+        }
+
+        @Override
+        public String getCallerClassName() {
+            try {
+                return (String) walkMethod.invoke(stackWalker, classNameFunction);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        /**
+         * Returns the stack trace element of the caller. Only the frames up to
+         * the caller are inspected and only the caller frame is converted
+         * to a stack trace element.
+         *
+         * @return the caller stack trace element or {@code null}.
+         * @throws Exception if the stack cannot be walked.
+         */
+        public StackTraceElement getCaller() throws Exception {
+            return (StackTraceElement) walkMethod.invoke(stackWalker, elementFunction);
+        }
+
+        @Override
+        public String getName() {
+            return "StackWalker";
+        }
+
+    }
+
+    /**
+     * Uses the class context of {@link SecurityManager}. The class context
+     * is not available on some Android devices.
+     */
+    static final class SecurityManagerResolver extends CallerResolver {
+
+        private static final class ClassContext extends SecurityManager {
+            public Class[] get() {
+                return getClassContext();
+            }
+        }
+
+        private final ClassContext classContext = new ClassContext();
+
+        @Override
+        public String getCallerClassName() {
+            Class[] classes = classContext.get();
+            // sometimes class context is null (usually on new Android devices)
+            if (classes == null || classes.length <= 0) {
+                return null; // if class context is null or empty
+            }
+
+            boolean libraryFound = false;
+            for (Class aClass : classes) {
+                String className = aClass.getName();
+                if (!libraryFound) {
+                    libraryFound = CallerLookup.isLibraryClass(className);
+                } else if (isCaller(className)) {
+                    return className;
+                }
+            }
+            return classes[classes.length - 1].getName();
+        }
+
+        @Override
+        public String getName() {
+            return "SecurityManager";
+        }
+
+    }
+
+    /**
+     * Uses {@code sun.reflect.Reflection.getCallerClass(int)} available
+     * on old Oracle and OpenJDK runtimes. Classes are requested one by one
+     * until the caller is found so no stack trace is created.
+     */
+    static final class ReflectionResolver extends CallerResolver {
+
+        private final Method getCallerClassMethod;
+
+        public ReflectionResolver() throws Exception {
+            this.getCallerClassMethod = Class.forName("sun.reflect.Reflection").getMethod("getCallerClass", int.class);
+        }
+
+        @Override
+        public String getCallerClassName() {
+            try {
+                String className = null;
+                boolean libraryFound = false;
+                for (int depth = 1; depth < CallerLookup.MAX_DEPTH; depth++) {
+                    Class<?> aClass = (Class<?>) getCallerClassMethod.invoke(null, depth);
+                    if (aClass == null) {
+                        return className;
+                    }
+                    className = aClass.getName();
+                    if (!libraryFound) {
+                        libraryFound = CallerLookup.isLibraryClass(className);
+                    } else if (isCaller(className)) {
+                        return className;
+                    }
+                }
+                return className;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "Reflection";
+        }
+
+    }
+
+    /**
+     * Uses a stack trace of {@link Throwable}. Works everywhere.
+     * Builds only the frames up to the caller if the runtime allows that.
+     * Like other strategies it inspects at most
+     * {@link CallerLookup#MAX_DEPTH} frames.
+     */
+    static final class ThrowableResolver extends CallerResolver {
+
+        @Override
+        public String getCallerClassName() {
+            StackTraceElement caller = CallerLookup.findCaller();
+            return caller == null ? null : caller.getClassName();
+        }
+
+        @Override
+        public String getName() {
+            return "Throwable";
+        }
+
+    }
+
+    /**
+     * Checks if the strategy finds the same caller as the stack trace does.
+     * Both strategies are called back from a class outside of this library.
+     *
+     * @param resolver the strategy to check.
+     * @return true if the strategy works.
+     */
+    static boolean isWorking(final CallerResolver resolver) {
+        final CallerResolver reference = new ThrowableResolver();
+        final String[] result = new String[2];
+        try {
+            List<String> list = new ArrayList<String>();
+            list.add("a");
+            list.add("b");
+            // the comparator is called by a class of java.util package
+            Collections.sort(list, new Comparator<String>() {
+                @Override
+                public int compare(String s1, String s2) {
+                    result[0] = reference.getCallerClassName();
+                    result[1] = resolver.getCallerClassName();
+                    return s1.compareTo(s2);
+                }
+            });
+        } catch (Throwable e) {
+            return false;
+        }
+        return result[0] != null && !CallerLookup.isLibraryClass(result[0]) && result[0].equals(result[1]);
+    }
+
+    /**
+     * Returns the fastest strategy that works on the current runtime.
+     *
+     * @return the strategy.
+     */
+    public static CallerResolver select() {
+        // the order of preference
+        String[] classNames = {
+                StackWalkerResolver.class.getName(),
+                SecurityManagerResolver.class.getName(),
+                ReflectionResolver.class.getName(),
+        };
+        for (String className : classNames) {
+            try {
+                CallerResolver resolver = (CallerResolver) Class.forName(className).newInstance();
+                if (isWorking(resolver)) {
+                    return resolver;
+                }
+            } catch (Throwable ignored) {
+                // the strategy is not supported by the runtime
+            }
+        }
+        return new ThrowableResolver();
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log;
+
+/**
+ * The logger configuration compiled at build time.
+ * <p/>
+ * Implementations are generated by {@link ConfigurationCompiler} from
+ * {@code android-logger.properties} file. If the class with
+ * {@link #CLASS_NAME} name is found in the classpath {@link LoggerManager}
+ * uses it instead of parsing the properties file.
+ */
+public interface CompiledConfiguration {
+
+    /**
+     * The name of the generated configuration class.
+     */
+    public static final String CLASS_NAME = "com.noveogroup.android.log.generated.AndroidLoggerConfiguration";
+
+    /**
+     * Returns names of the configured loggers.
+     * The root logger is represented by {@code null}.
+     *
+     * @return the array of logger names.
+     */
+    public String[] getLoggerNames();
+
+    /**
+     * Returns the lowest level enabled by the handler of the logger with
+     * the specified index. It is used to check levels without creating
+     * the handler.
+     *
+     * @param index the index of the logger name in {@link #getLoggerNames()}.
+     * @return the level or {@code null} if all levels are disabled.
+     * @throws IndexOutOfBoundsException if the index is wrong.
+     */
+    public Logger.Level getLevel(int index) throws IndexOutOfBoundsException;
+
+    /**
+     * Creates the handler of the logger with the specified index.
+     * Handlers are created when they are used first time.
+     *
+     * @param index the index of the logger name in {@link #getLoggerNames()}.
+     * @return the handler.
+     * @throws IndexOutOfBoundsException if the index is wrong.
+     */
+    public Handler createHandler(int index) throws IndexOutOfBoundsException;
+
+    /**
+     * Returns names of the wrapper classes and packages.
+     *
+     * @return the array of wrapper names.
+     */
+    public String[] getWrappers();
+
+    /**
+     * Checks if created loggers should be held weakly.
+     *
+     * @return true if unused loggers can be garbage collected.
+     */
+    public boolean isWeakRetention();
+
+}
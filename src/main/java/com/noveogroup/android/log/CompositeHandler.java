@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@link Handler} that prints messages using several handlers.
+ * <p/>
+ * Each handler has its own level. Parts of an event that are common
+ * for all handlers (the formatted message, the stack trace string,
+ * the caller, the thread and the time) are computed once and shared
+ * between the handlers that accept the event.
+ * <p/>
+ * If a handler throws an exception the event is still printed by the rest
+ * of the handlers and the first exception is rethrown afterwards.
+ */
+public class CompositeHandler implements Handler {
+
+    private final Handler[] handlers;
+    private final boolean[] enabledLevels;
+    private final boolean[] callerNeededLevels;
+    private final boolean callerNeeded;
+
+    /**
+     * Creates new {@link CompositeHandler}.
+     *
+     * @param handlers the handlers to print messages.
+     * @throws IllegalArgumentException if no handlers are specified.
+     */
+    public CompositeHandler(Handler... handlers) {
+        if (handlers == null || handlers.length == 0) {
+            throw new IllegalArgumentException("handlers are not set");
+        }
+
+        this.handlers = handlers.clone();
+        Logger.Level[] levels = Logger.Level.values();
+        this.enabledLevels = new boolean[levels.length];
+        this.callerNeededLevels = new boolean[levels.length];
+        boolean anyCallerNeeded = false;
+        for (Handler handler : this.handlers) {
+            if (handler == null) {
+                throw new IllegalArgumentException("handler is not set");
+            }
+            boolean handlerCallerNeeded = LogEvent.isCallerNeeded(handler);
+            anyCallerNeeded |= handlerCallerNeeded;
+            for (Logger.Level level : levels) {
+                if (handler.isEnabled(level)) {
+                    enabledLevels[level.ordinal()] = true;
+                    callerNeededLevels[level.ordinal()] |= handlerCallerNeeded;
+                }
+            }
+        }
+        this.callerNeeded = anyCallerNeeded;
+    }
+
+    /**
+     * Returns the handlers.
+     *
+     * @return the unmodifiable list of handlers.
+     */
+    public List<Handler> getHandlers() {
+        return Collections.unmodifiableList(Arrays.asList(handlers));
+    }
+
+    /**
+     * Checks if any of the handlers prints information about a caller.
+     *
+     * @return true if the caller is needed to print messages.
+     */
+    boolean isCallerNeeded() {
+        return callerNeeded;
+    }
+
+    @Override
+    public boolean isEnabled(Logger.Level level) {
+        return level != null && enabledLevels[level.ordinal()];
+    }
+
+    @Override
+    public void print(String loggerName, Logger.Level level,
+                      Throwable throwable, String message) throws IllegalArgumentException {
+        if (isEnabled(level)) {
+            // capture the shared parts of the event once for all handlers
+            LogEvent event = new LogEvent();
+            event.capture(loggerName, level, throwable, message, null, false, callerNeededLevels[level.ordinal()]);
+            // a failing handler doesn't prevent the others from printing the event
+            RuntimeException runtimeException = null;
+            Error error = null;
+            for (Handler handler : handlers) {
+                if (handler.isEnabled(level)) {
+                    try {
+                        event.replay(handler);
+                    } catch (RuntimeException e) {
+                        if (runtimeException == null && error == null) {
+                            runtimeException = e;
+                        }
+                    } catch (Error e) {
+                        if (runtimeException == null && error == null) {
+                            error = e;
+                        }
+                    }
+                }
+            }
+            if (runtimeException != null) {
+                throw runtimeException;
+            }
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    @Override
+    public void print(String loggerName, Logger.Level level,
+                      Throwable throwable, String messageFormat, Object... args) throws IllegalArgumentException {
+        if (isEnabled(level)) {
+            if (messageFormat == null && args != null && args.length > 0) {
+                throw new IllegalArgumentException("message format is not set but arguments are presented");
+            }
+
+            print(loggerName, level, throwable, messageFormat == null ? null : String.format(messageFormat, args));
+        }
+    }
+
+}
@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log;
+
+import java.util.*;
+import java.util.regex.Matcher;
+
+/**
+ * The compiler of logger configurations.
+ * <p/>
+ * It validates the properties in the format of {@code android-logger.properties}
+ * file and generates Java source of {@link CompiledConfiguration} implementation.
+ * The generated class creates handlers with already compiled patterns, so
+ * the properties file isn't read and parsed when an application starts.
+ * <p/>
+ * Unlike {@link LoggerManager} the compiler is strict: configuration problems
+ * that are logged and ignored at runtime are reported as errors.
+ */
+public final class ConfigurationCompiler {
+
+    private static final java.util.regex.Pattern CONF_LOGGER_REGEX =
+            java.util.regex.Pattern.compile(LoggerManager.CONF_LOGGER_FORMAT);
+
+    private static final String PATTERN_HANDLER = PatternHandler.class.getName();
+    private static final String ASYNC_HANDLER = AsyncHandler.class.getName();
+    private static final String COMPOSITE_HANDLER = CompositeHandler.class.getName();
+
+    private final List<String> errors = new ArrayList<String>();
+    private final List<String> warnings = new ArrayList<String>();
+    private final Map<String, String> handlerSources = new LinkedHashMap<String, String>();
+    // identical patterns and pattern handlers are created once and shared
+    private final Map<String, String> patternFields = new LinkedHashMap<String, String>();
+    private final Map<String, Integer> patternHandlerIds = new LinkedHashMap<String, Integer>();
+    // the lowest levels enabled by the handlers
+    private final Map<String, Logger.Level> handlerLevels = new HashMap<String, Logger.Level>();
+    private final List<String> wrappers = new ArrayList<String>();
+    private boolean weakRetention;
+
+    /**
+     * Creates new compiler and validates the configuration.
+     *
+     * @param properties the configuration.
+     */
+    public ConfigurationCompiler(Properties properties) {
+        if (properties.isEmpty()) {
+            errors.add("Logger configuration is empty");
+            return;
+        }
+
+        String continuationMarker = properties.getProperty(LoggerManager.CONF_CONTINUATION);
+        if (continuationMarker != null && continuationMarker.length() > LoggerManager.MAX_CONTINUATION_MARKER_LENGTH) {
+            String trimmedMarker = continuationMarker.substring(0, LoggerManager.MAX_CONTINUATION_MARKER_LENGTH);
+            warnings.add(String.format("Continuation marker cannot be longer than %d characters. Marker '%s' will be trimmed to '%s'",
+                    LoggerManager.MAX_CONTINUATION_MARKER_LENGTH, continuationMarker, trimmedMarker));
+            continuationMarker = trimmedMarker;
+        }
+        Map<String, String> asyncMap = new LinkedHashMap<String, String>();
+
+        // sort keys to generate the same source for the same configuration
+        Map<String, SortedMap<String, String>> handlerLists = new LinkedHashMap<String, SortedMap<String, String>>();
+        handlerLists.put(null, new TreeMap<String, String>());
+        for (String propertyName : new TreeSet<String>(properties.stringPropertyNames())) {
+            String propertyValue = properties.getProperty(propertyName);
+
+            String key = propertyName;
+            String label = "";
+            int labelIndex = propertyName.indexOf(LoggerManager.CONF_LABEL_SEPARATOR);
+            if (labelIndex >= 0) {
+                key = propertyName.substring(0, labelIndex);
+                label = propertyName.substring(labelIndex + 1);
+            }
+
+            if (propertyName.equals(LoggerManager.CONF_WRAPPERS)) {
+                for (String wrapper : propertyValue.split(",")) {
+                    if (wrapper.trim().length() > 0) {
+                        wrappers.add(wrapper.trim());
+                    }
+                }
+            } else if (propertyName.equals(LoggerManager.CONF_CONTINUATION)) {
+                continue;
+            } else if (propertyName.equals(LoggerManager.CONF_RETENTION)) {
+                decodeRetention(propertyValue);
+            } else if (propertyName.startsWith(LoggerManager.CONF_ASYNC)) {
+                asyncMap.put(getLoggerName(propertyName.substring(LoggerManager.CONF_ASYNC.length())), propertyValue);
+            } else if (key.equals(LoggerManager.CONF_ROOT)) {
+                handlerLists.get(null).put(label, decodeHandler(propertyName, propertyValue, continuationMarker));
+            } else if (key.startsWith(LoggerManager.CONF_LOGGER)) {
+                String loggerName = getLoggerName(key.substring(LoggerManager.CONF_LOGGER.length()));
+                if (!handlerLists.containsKey(loggerName)) {
+                    handlerLists.put(loggerName, new TreeMap<String, String>());
+                }
+                handlerLists.get(loggerName).put(label, decodeHandler(propertyName, propertyValue, continuationMarker));
+            } else {
+                errors.add(String.format("Unknown key '%s'", propertyName));
+            }
+        }
+
+        // combine handlers of loggers with several handlers
+        for (Map.Entry<String, SortedMap<String, String>> entry : handlerLists.entrySet()) {
+            handlerSources.put(entry.getKey(), combineHandlerSources(entry.getValue().values()));
+        }
+
+        // wrap handlers of asynchronous loggers
+        for (Map.Entry<String, String> entry : asyncMap.entrySet()) {
+            String handlerSource = handlerSources.get(entry.getKey());
+            if (handlerSource == null && entry.getKey() == null) {
+                handlerSource = createHandlerSource(Logger.Level.VERBOSE,
+                        LoggerManager.DEFAULT_TAG, LoggerManager.DEFAULT_MESSAGE, null);
+            }
+            if (handlerSource == null) {
+                errors.add(String.format("Asynchronous logger '%s' is not configured", entry.getKey()));
+            } else {
+                handlerSources.put(entry.getKey(), decodeAsyncHandler(handlerSource, entry.getValue()));
+            }
+        }
+
+        // the root logger uses the default handler if it isn't configured
+        if (handlerSources.get(null) == null) {
+            handlerSources.remove(null);
+        }
+    }
+
+    private String combineHandlerSources(Collection<String> handlerSources) {
+        if (handlerSources.isEmpty() || handlerSources.contains(null)) {
+            return null;
+        }
+        if (handlerSources.size() == 1) {
+            return handlerSources.iterator().next();
+        }
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("new ").append(COMPOSITE_HANDLER).append('(');
+        boolean first = true;
+        Logger.Level level = null;
+        for (String handlerSource : handlerSources) {
+            if (!first) {
+                builder.append(",\n                        ");
+            }
+            first = false;
+            builder.append(handlerSource);
+            level = HandlerFactory.getLowestLevel(level, handlerLevels.get(handlerSource));
+        }
+        builder.append(')');
+        handlerLevels.put(builder.toString(), level);
+        return builder.toString();
+    }
+
+    private static String getLoggerName(String name) {
+        return name.equalsIgnoreCase(Logger.ROOT_LOGGER_NAME) ? null : name;
+    }
+
+    private void decodeRetention(String retention) {
+        if (retention.trim().equalsIgnoreCase(LoggerManager.RETENTION_WEAK)) {
+            weakRetention = true;
+        } else if (!retention.trim().equalsIgnoreCase(LoggerManager.RETENTION_STRONG)) {
+            errors.add(String.format("Unknown retention '%s'. Only '%s' and '%s' are allowed",
+                    retention, LoggerManager.RETENTION_STRONG, LoggerManager.RETENTION_WEAK));
+        }
+    }
+
+    private String decodeHandler(String propertyName, String handlerString, String continuationMarker) {
+        Matcher matcher = CONF_LOGGER_REGEX.matcher(handlerString);
+        if (!matcher.matches()) {
+            errors.add(String.format("Wrong format of logger configuration '%s': '%s'", propertyName, handlerString));
+            return null;
+        }
+
+        String levelString = matcher.group(1);
+        String tag = matcher.group(2);
+        String message = matcher.group(4);
+
+        Logger.Level level;
+        try {
+            level = Logger.Level.valueOf(levelString);
+        } catch (IllegalArgumentException e) {
+            errors.add(String.format("Cannot parse '%s' of '%s' as logging level. Only %s are allowed",
+                    levelString, propertyName, Arrays.toString(Logger.Level.values())));
+            return null;
+        }
+
+        if (tag.length() > LoggerManager.MAX_LOG_TAG_LENGTH) {
+            String trimmedTag = tag.substring(0, LoggerManager.MAX_LOG_TAG_LENGTH);
+            warnings.add(String.format("Android doesn't support tags %d characters longer. Tag '%s' of '%s' will be trimmed to '%s'",
+                    LoggerManager.MAX_LOG_TAG_LENGTH, tag, propertyName, trimmedTag));
+            tag = trimmedTag;
+        }
+
+        try {
+            return createHandlerSource(level, tag, message, continuationMarker);
+        } catch (RuntimeException e) {
+            errors.add(String.format("Cannot parse pattern of '%s': %s", propertyName, e.getMessage()));
+            return null;
+        }
+    }
+
+    private String decodeAsyncHandler(String handlerSource, String asyncString) {
+        String value = asyncString.trim();
+        if (value.equalsIgnoreCase("false")) {
+            return handlerSource;
+        }
+        if (value.equalsIgnoreCase("true")) {
+            return createAsyncHandlerSource(handlerSource, "");
+        }
+        try {
+            int capacity = Integer.parseInt(value);
+            if (capacity > 0) {
+                return createAsyncHandlerSource(handlerSource, ", " + capacity);
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        errors.add(String.format("Cannot parse '%s' as capacity of asynchronous logger", asyncString));
+        return handlerSource;
+    }
+
+    private String createAsyncHandlerSource(String handlerSource, String arguments) {
+        String asyncHandlerSource = "new " + ASYNC_HANDLER + "(" + handlerSource + arguments + ")";
+        handlerLevels.put(asyncHandlerSource, handlerLevels.get(handlerSource));
+        return asyncHandlerSource;
+    }
+
+    private String createHandlerSource(Logger.Level level, String tag, String message, String continuationMarker) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("new ").append(PATTERN_HANDLER).append('(')
+                .append(Logger.Level.class.getCanonicalName()).append('.').append(level.name()).append(",\n");
+        appendPattern(builder, tag);
+        builder.append(",\n");
+        appendPattern(builder, message);
+        builder.append(",\n                            ");
+        Utils.appendLiteral(builder, continuationMarker == null || continuationMarker.length() == 0 ? null : continuationMarker);
+        builder.append(')');
+
+        String handlerSource = builder.toString();
+        Integer id = patternHandlerIds.get(handlerSource);
+        if (id == null) {
+            id = patternHandlerIds.size();
+            patternHandlerIds.put(handlerSource, id);
+        }
+        String patternHandlerSource = "getPatternHandler(" + id + ")";
+        handlerLevels.put(patternHandlerSource, level);
+        return patternHandlerSource;
+    }
+
+    private void appendPattern(StringBuilder builder, String pattern) {
+        builder.append("                            ");
+        Utils.appendLiteral(builder, pattern);
+        builder.append(", ");
+        if (pattern == null) {
+            builder.append("null");
+        } else {
+            builder.append(getPatternField(new Pattern.Compiler().compile(pattern)));
+        }
+    }
+
+    private String getPatternField(Pattern pattern) {
+        StringBuilder builder = new StringBuilder();
+        if (pattern instanceof Pattern.ConcatenatePattern) {
+            pattern.appendConstructor(builder, "ConcatenatePattern");
+            builder.append(", java.util.Arrays.<").append(Pattern.class.getName()).append(">asList(");
+            boolean first = true;
+            for (Pattern childPattern : ((Pattern.ConcatenatePattern) pattern).getPatterns()) {
+                if (!first) {
+                    builder.append(", ");
+                }
+                first = false;
+                builder.append(getPatternField(childPattern));
+            }
+            builder.append("))");
+        } else {
+            pattern.appendSource(builder);
+        }
+
+        String patternSource = builder.toString();
+        String field = patternFields.get(patternSource);
+        if (field == null) {
+            field = "PATTERN_" + patternFields.size();
+            patternFields.put(patternSource, field);
+        }
+        return field;
+    }
+
+    /**
+     * Returns configuration errors. The source cannot be generated
+     * if there are errors.
+     *
+     * @return the list of error messages.
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Returns configuration warnings.
+     *
+     * @return the list of warning messages.
+     */
+    public List<String> getWarnings() {
+        return Collections.unmodifiableList(warnings);
+    }
+
+    /**
+     * Generates Java source of the compiled configuration class
+     * named {@link CompiledConfiguration#CLASS_NAME}.
+     *
+     * @return the source code.
+     * @throws IllegalStateException if the configuration has errors.
+     */
+    public String generateSource() throws IllegalStateException {
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Logger configuration has errors: " + errors);
+        }
+
+        String className = CompiledConfiguration.CLASS_NAME;
+        int dotIndex = className.lastIndexOf('.');
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("package ").append(className.substring(0, dotIndex)).append(";\n\n");
+        builder.append("/**\n");
+        builder.append(" * Logger configuration generated from ").append(LoggerManager.PROPERTIES_NAME).append(".\n");
+        builder.append(" * Do not edit.\n");
+        builder.append(" */\n");
+        builder.append("public final class ").append(className.substring(dotIndex + 1))
+                .append(" implements ").append(CompiledConfiguration.class.getName()).append(" {\n\n");
+
+        builder.append("    private static final String[] LOGGER_NAMES = ");
+        appendArray(builder, handlerSources.keySet());
+        builder.append(";\n");
+        builder.append("    private static final ").append(Logger.Level.class.getCanonicalName()).append("[] LEVELS = {");
+        boolean first = true;
+        for (String handlerSource : handlerSources.values()) {
+            if (!first) {
+                builder.append(", ");
+            }
+            first = false;
+            Logger.Level level = handlerLevels.get(handlerSource);
+            builder.append(level == null ? "null" : Logger.Level.class.getCanonicalName() + "." + level.name());
+        }
+        builder.append("};\n");
+        builder.append("    private static final String[] WRAPPERS = ");
+        appendArray(builder, wrappers);
+        builder.append(";\n\n");
+
+        for (Map.Entry<String, String> entry : patternFields.entrySet()) {
+            builder.append("    private static final ").append(Pattern.class.getName()).append(' ')
+                    .append(entry.getValue()).append(" =\n            ").append(entry.getKey()).append(";\n");
+        }
+        builder.append('\n');
+
+        builder.append("    private final ").append(Handler.class.getName()).append("[] patternHandlers =\n");
+        builder.append("            new ").append(Handler.class.getName())
+                .append('[').append(patternHandlerIds.size()).append("];\n\n");
+
+        builder.append("    private synchronized ").append(Handler.class.getName()).append(" getPatternHandler(int id) {\n");
+        builder.append("        if (patternHandlers[id] == null) {\n");
+        builder.append("            switch (id) {\n");
+        for (Map.Entry<String, Integer> entry : patternHandlerIds.entrySet()) {
+            builder.append("                case ").append(entry.getValue()).append(":\n");
+            builder.append("                    patternHandlers[id] = ").append(entry.getKey()).append(";\n");
+            builder.append("                    break;\n");
+        }
+        builder.append("                default:\n");
+        builder.append("                    throw new IndexOutOfBoundsException(\"wrong id: \" + id);\n");
+        builder.append("            }\n");
+        builder.append("        }\n");
+        builder.append("        return patternHandlers[id];\n");
+        builder.append("    }\n\n");
+
+        builder.append("    @Override\n");
+        builder.append("    public String[] getLoggerNames() {\n");
+        builder.append("        return LOGGER_NAMES.clone();\n");
+        builder.append("    }\n\n");
+
+        builder.append("    @Override\n");
+        builder.append("    public ").append(Logger.Level.class.getCanonicalName()).append(" getLevel(int index) {\n");
+        builder.append("        return LEVELS[index];\n");
+        builder.append("    }\n\n");
+
+        builder.append("    @Override\n");
+        builder.append("    public ").append(Handler.class.getName()).append(" createHandler(int index) {\n");
+        builder.append("        switch (index) {\n");
+        int index = 0;
+        for (String handlerSource : handlerSources.values()) {
+            builder.append("            case ").append(index++).append(":\n");
+            builder.append("                return ").append(handlerSource).append(";\n");
+        }
+        builder.append("            default:\n");
+        builder.append("                throw new IndexOutOfBoundsException(\"wrong index: \" + index);\n");
+        builder.append("        }\n");
+        builder.append("    }\n\n");
+
+        builder.append("    @Override\n");
+        builder.append("    public String[] getWrappers() {\n");
+        builder.append("        return WRAPPERS.clone();\n");
+        builder.append("    }\n\n");
+
+        builder.append("    @Override\n");
+        builder.append("    public boolean isWeakRetention() {\n");
+        builder.append("        return ").append(weakRetention).append(";\n");
+        builder.append("    }\n\n");
+
+        builder.append("}\n");
+        return builder.toString();
+    }
+
+    private static void appendArray(StringBuilder builder, Collection<String> strings) {
+        builder.append('{');
+        boolean first = true;
+        for (String string : strings) {
+            if (!first) {
+                builder.append(", ");
+            }
+            first = false;
+            Utils.appendLiteral(builder, string);
+        }
+        builder.append('}');
+    }
+
+}
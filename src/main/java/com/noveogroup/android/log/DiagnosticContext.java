@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Diagnostic context of the current thread.
+ * <p/>
+ * The context is a map of string values attached to all messages logged
+ * by the thread. They can be printed using {@code %X{key}} and {@code %X}
+ * patterns.
+ * <p/>
+ * Every change of the context replaces the map of the thread with
+ * a modified copy, so maps returned by {@link #getContext()} are never
+ * changed. Reading the context while messages are printed needs neither
+ * locking nor copying, and a snapshot of the context is just a reference.
+ */
+public final class DiagnosticContext {
+
+    private DiagnosticContext() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final ThreadLocal<Map<String, String>> CONTEXT = new ThreadLocal<Map<String, String>>();
+
+    /**
+     * Returns the context of the current thread.
+     *
+     * @return the unmodifiable context map.
+     */
+    public static Map<String, String> getContext() {
+        Map<String, String> context = CONTEXT.get();
+        return context == null ? Collections.<String, String>emptyMap() : context;
+    }
+
+    /**
+     * Replaces the context of the current thread with a copy of the specified map.
+     *
+     * @param context the new context or {@code null} to clear the context.
+     */
+    public static void setContext(Map<String, String> context) {
+        if (context == null || context.isEmpty()) {
+            CONTEXT.remove();
+        } else {
+            CONTEXT.set(Collections.unmodifiableMap(new HashMap<String, String>(context)));
+        }
+    }
+
+    /**
+     * Returns the value of the key in the context of the current thread.
+     *
+     * @param key the key.
+     * @return the value or {@code null} if the context has no such key.
+     */
+    public static String get(String key) {
+        return getContext().get(key);
+    }
+
+    /**
+     * Puts the value into the context of the current thread.
+     *
+     * @param key   the key.
+     * @param value the value.
+     */
+    public static void put(String key, String value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        Map<String, String> context = new HashMap<String, String>(getContext());
+        context.put(key, value);
+        CONTEXT.set(Collections.unmodifiableMap(context));
+    }
+
+    /**
+     * Removes the key from the context of the current thread.
+     *
+     * @param key the key.
+     */
+    public static void remove(String key) {
+        Map<String, String> oldContext = getContext();
+        if (oldContext.containsKey(key)) {
+            Map<String, String> context = new HashMap<String, String>(oldContext);
+            context.remove(key);
+            setContext(context);
+        }
+    }
+
+    /**
+     * Clears the context of the current thread.
+     */
+    public static void clear() {
+        CONTEXT.remove();
+    }
+
+}
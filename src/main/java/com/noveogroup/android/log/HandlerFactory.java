@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log;
+
+/**
+ * Creates a configured handler when it is needed first time.
+ * <p/>
+ * The level of the handler is known in advance, so level checks
+ * don't create the handler. The created handler is kept and returned
+ * by all next calls.
+ */
+abstract class HandlerFactory {
+
+    private final Logger.Level level;
+    private volatile Handler handler;
+    private boolean closed = false; // is guarded by this
+
+    /**
+     * Creates new {@link HandlerFactory}.
+     *
+     * @param level the lowest level enabled by the handler or {@code null}.
+     */
+    public HandlerFactory(Logger.Level level) {
+        this.level = level;
+    }
+
+    /**
+     * Creates a factory of the already created handler.
+     *
+     * @param level   the lowest level enabled by the handler or {@code null}.
+     * @param handler the handler.
+     * @return the factory.
+     */
+    public static HandlerFactory of(Logger.Level level, final Handler handler) {
+        return new HandlerFactory(level) {
+            @Override
+            protected Handler createHandler() {
+                return handler;
+            }
+        };
+    }
+
+    /**
+     * Returns the lowest level enabled by the handler.
+     *
+     * @return the level or {@code null} if all levels are disabled.
+     */
+    public Logger.Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Checks if the specified level is enabled by the handler
+     * without creating the handler.
+     *
+     * @param level the level.
+     * @return true if the level is enabled.
+     */
+    public boolean isEnabled(Logger.Level level) {
+        return this.level != null && this.level.includes(level);
+    }
+
+    /**
+     * Returns the handler creating it if needed.
+     *
+     * @return the handler.
+     */
+    public Handler getHandler() {
+        Handler currentHandler = handler;
+        if (currentHandler == null) {
+            synchronized (this) {
+                currentHandler = handler;
+                if (currentHandler == null) {
+                    currentHandler = createHandler();
+                    // the configuration is replaced already
+                    if (closed && currentHandler instanceof AsyncHandler) {
+                        ((AsyncHandler) currentHandler).close();
+                    }
+                    handler = currentHandler;
+                }
+            }
+        }
+        return currentHandler;
+    }
+
+    /**
+     * Releases resources of the handler if it is created.
+     * Handlers created after this call are released immediately.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (handler instanceof AsyncHandler) {
+            ((AsyncHandler) handler).close();
+        }
+    }
+
+    protected abstract Handler createHandler();
+
+    /**
+     * Returns the lowest of the specified levels.
+     *
+     * @param level      the level or {@code null}.
+     * @param otherLevel the other level or {@code null}.
+     * @return the level including both levels.
+     */
+    public static Logger.Level getLowestLevel(Logger.Level level, Logger.Level otherLevel) {
+        if (level == null) {
+            return otherLevel;
+        } else if (otherLevel == null) {
+            return level;
+        } else {
+            return level.includes(otherLevel) ? level : otherLevel;
+        }
+    }
+
+}
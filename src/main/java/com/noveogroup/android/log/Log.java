@@ -31,6 +31,9 @@ package com.noveogroup.android.log;
  * <p/>
  * This class gets logger using {@link LoggerManager#getLogger()} and
  * delegates calls to it.
+ * <p/>
+ * Looking for a caller is quite expensive, so messages of levels that
+ * are not enabled by any configured logger are discarded before it.
  */
 public final class Log {
 
@@ -46,7 +49,7 @@ public final class Log {
      * @see Logger#isEnabled(Logger.Level)
      */
     public static boolean isEnabled(Logger.Level level) {
-        return LoggerManager.getLogger().isEnabled(level);
+        return LoggerManager.isEnabledAnywhere(level) && LoggerManager.getLogger().isEnabled(level);
     }
 
     /**
@@ -57,7 +60,7 @@ public final class Log {
      * @see Logger#isVerboseEnabled()
      */
     public static boolean isVerboseEnabled() {
-        return LoggerManager.getLogger().isVerboseEnabled();
+        return LoggerManager.isEnabledAnywhere(Logger.Level.VERBOSE) && LoggerManager.getLogger().isVerboseEnabled();
     }
 
     /**
@@ -68,7 +71,7 @@ public final class Log {
      * @see Logger#isDebugEnabled()
      */
     public static boolean isDebugEnabled() {
-        return LoggerManager.getLogger().isDebugEnabled();
+        return LoggerManager.isEnabledAnywhere(Logger.Level.DEBUG) && LoggerManager.getLogger().isDebugEnabled();
     }
 
     /**
@@ -79,7 +82,7 @@ public final class Log {
      * @see Logger#isInfoEnabled()
      */
     public static boolean isInfoEnabled() {
-        return LoggerManager.getLogger().isInfoEnabled();
+        return LoggerManager.isEnabledAnywhere(Logger.Level.INFO) && LoggerManager.getLogger().isInfoEnabled();
     }
 
     /**
@@ -90,7 +93,7 @@ public final class Log {
      * @see Logger#isWarnEnabled()
      */
     public static boolean isWarnEnabled() {
-        return LoggerManager.getLogger().isWarnEnabled();
+        return LoggerManager.isEnabledAnywhere(Logger.Level.WARN) && LoggerManager.getLogger().isWarnEnabled();
     }
 
     /**
@@ -101,7 +104,7 @@ public final class Log {
      * @see Logger#isErrorEnabled()
      */
     public static boolean isErrorEnabled() {
-        return LoggerManager.getLogger().isErrorEnabled();
+        return LoggerManager.isEnabledAnywhere(Logger.Level.ERROR) && LoggerManager.getLogger().isErrorEnabled();
     }
 
     /**
@@ -112,7 +115,7 @@ public final class Log {
      * @see Logger#isAssertEnabled()
      */
     public static boolean isAssertEnabled() {
-        return LoggerManager.getLogger().isAssertEnabled();
+        return LoggerManager.isEnabledAnywhere(Logger.Level.ASSERT) && LoggerManager.getLogger().isAssertEnabled();
     }
 
     /**
@@ -123,7 +126,9 @@ public final class Log {
      * @param message   a message you would like logged.
      */
     public static void print(Logger.Level level, Throwable throwable, String message) {
-        LoggerManager.getLogger().print(level, throwable, message);
+        if (LoggerManager.isEnabledAnywhere(level)) {
+            LoggerManager.getLogger().print(level, throwable, message);
+        }
     }
 
     /**
@@ -135,7 +140,22 @@ public final class Log {
      * @param args          arguments for a formatter.
      */
     public static void print(Logger.Level level, Throwable throwable, String messageFormat, Object... args) {
-        LoggerManager.getLogger().print(level, throwable, messageFormat, args);
+        if (LoggerManager.isEnabledAnywhere(level)) {
+            LoggerManager.getLogger().print(level, throwable, messageFormat, args);
+        }
+    }
+
+    /**
+     * Low-level logging call. The message is built only if the level is enabled.
+     *
+     * @param level           a level of this log message
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public static void print(Logger.Level level, Throwable throwable, MessageSupplier messageSupplier) {
+        if (LoggerManager.isEnabledAnywhere(level)) {
+            LoggerManager.getLogger().print(level, throwable, messageSupplier);
+        }
     }
 
     /**
@@ -145,7 +165,9 @@ public final class Log {
      * @param throwable an additional throwable object.
      */
     public static void v(String message, Throwable throwable) {
-        LoggerManager.getLogger().v(message, throwable);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.VERBOSE)) {
+            LoggerManager.getLogger().v(message, throwable);
+        }
     }
 
     /**
@@ -155,7 +177,9 @@ public final class Log {
      * @param throwable an additional throwable object.
      */
     public static void d(String message, Throwable throwable) {
-        LoggerManager.getLogger().d(message, throwable);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.DEBUG)) {
+            LoggerManager.getLogger().d(message, throwable);
+        }
     }
 
     /**
@@ -165,7 +189,9 @@ public final class Log {
      * @param throwable an additional throwable object.
      */
     public static void i(String message, Throwable throwable) {
-        LoggerManager.getLogger().i(message, throwable);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.INFO)) {
+            LoggerManager.getLogger().i(message, throwable);
+        }
     }
 
     /**
@@ -175,7 +201,9 @@ public final class Log {
      * @param throwable an additional throwable object.
      */
     public static void w(String message, Throwable throwable) {
-        LoggerManager.getLogger().w(message, throwable);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.WARN)) {
+            LoggerManager.getLogger().w(message, throwable);
+        }
     }
 
     /**
@@ -185,7 +213,9 @@ public final class Log {
      * @param throwable an additional throwable object.
      */
     public static void e(String message, Throwable throwable) {
-        LoggerManager.getLogger().e(message, throwable);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ERROR)) {
+            LoggerManager.getLogger().e(message, throwable);
+        }
     }
 
     /**
@@ -195,7 +225,9 @@ public final class Log {
      * @param throwable an additional throwable object.
      */
     public static void a(String message, Throwable throwable) {
-        LoggerManager.getLogger().a(message, throwable);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ASSERT)) {
+            LoggerManager.getLogger().a(message, throwable);
+        }
     }
 
     /**
@@ -204,7 +236,9 @@ public final class Log {
      * @param throwable a throwable object to send.
      */
     public static void v(Throwable throwable) {
-        LoggerManager.getLogger().v(throwable);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.VERBOSE)) {
+            LoggerManager.getLogger().v(throwable);
+        }
     }
 
     /**
@@ -213,7 +247,9 @@ public final class Log {
      * @param throwable a throwable object to send.
      */
     public static void d(Throwable throwable) {
-        LoggerManager.getLogger().d(throwable);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.DEBUG)) {
+            LoggerManager.getLogger().d(throwable);
+        }
     }
 
     /**
@@ -222,7 +258,9 @@ public final class Log {
      * @param throwable a throwable object to send.
      */
     public static void i(Throwable throwable) {
-        LoggerManager.getLogger().i(throwable);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.INFO)) {
+            LoggerManager.getLogger().i(throwable);
+        }
     }
 
     /**
@@ -231,7 +269,9 @@ public final class Log {
      * @param throwable a throwable object to send.
      */
     public static void w(Throwable throwable) {
-        LoggerManager.getLogger().w(throwable);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.WARN)) {
+            LoggerManager.getLogger().w(throwable);
+        }
     }
 
     /**
@@ -240,7 +280,9 @@ public final class Log {
      * @param throwable a throwable object to send.
      */
     public static void e(Throwable throwable) {
-        LoggerManager.getLogger().e(throwable);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ERROR)) {
+            LoggerManager.getLogger().e(throwable);
+        }
     }
 
     /**
@@ -249,7 +291,9 @@ public final class Log {
      * @param throwable a throwable object to send.
      */
     public static void a(Throwable throwable) {
-        LoggerManager.getLogger().a(throwable);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ASSERT)) {
+            LoggerManager.getLogger().a(throwable);
+        }
     }
 
     /**
@@ -260,7 +304,9 @@ public final class Log {
      * @param args          arguments for a formatter.
      */
     public static void v(Throwable throwable, String messageFormat, Object... args) {
-        LoggerManager.getLogger().v(throwable, messageFormat, args);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.VERBOSE)) {
+            LoggerManager.getLogger().v(throwable, messageFormat, args);
+        }
     }
 
     /**
@@ -271,7 +317,9 @@ public final class Log {
      * @param args          arguments for a formatter.
      */
     public static void d(Throwable throwable, String messageFormat, Object... args) {
-        LoggerManager.getLogger().d(throwable, messageFormat, args);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.DEBUG)) {
+            LoggerManager.getLogger().d(throwable, messageFormat, args);
+        }
     }
 
     /**
@@ -282,7 +330,9 @@ public final class Log {
      * @param args          arguments for a formatter.
      */
     public static void i(Throwable throwable, String messageFormat, Object... args) {
-        LoggerManager.getLogger().i(throwable, messageFormat, args);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.INFO)) {
+            LoggerManager.getLogger().i(throwable, messageFormat, args);
+        }
     }
 
     /**
@@ -293,7 +343,9 @@ public final class Log {
      * @param args          arguments for a formatter.
      */
     public static void w(Throwable throwable, String messageFormat, Object... args) {
-        LoggerManager.getLogger().w(throwable, messageFormat, args);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.WARN)) {
+            LoggerManager.getLogger().w(throwable, messageFormat, args);
+        }
     }
 
     /**
@@ -304,7 +356,9 @@ public final class Log {
      * @param args          arguments for a formatter.
      */
     public static void e(Throwable throwable, String messageFormat, Object... args) {
-        LoggerManager.getLogger().e(throwable, messageFormat, args);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ERROR)) {
+            LoggerManager.getLogger().e(throwable, messageFormat, args);
+        }
     }
 
     /**
@@ -315,7 +369,9 @@ public final class Log {
      * @param args          arguments for a formatter.
      */
     public static void a(Throwable throwable, String messageFormat, Object... args) {
-        LoggerManager.getLogger().a(throwable, messageFormat, args);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ASSERT)) {
+            LoggerManager.getLogger().a(throwable, messageFormat, args);
+        }
     }
 
     /**
@@ -325,7 +381,9 @@ public final class Log {
      * @param message   a message you would like logged.
      */
     public static void v(Throwable throwable, String message) {
-        LoggerManager.getLogger().v(throwable, message);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.VERBOSE)) {
+            LoggerManager.getLogger().v(throwable, message);
+        }
     }
 
     /**
@@ -335,7 +393,9 @@ public final class Log {
      * @param message   a message you would like logged.
      */
     public static void d(Throwable throwable, String message) {
-        LoggerManager.getLogger().d(throwable, message);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.DEBUG)) {
+            LoggerManager.getLogger().d(throwable, message);
+        }
     }
 
     /**
@@ -345,7 +405,9 @@ public final class Log {
      * @param message   a message you would like logged.
      */
     public static void i(Throwable throwable, String message) {
-        LoggerManager.getLogger().i(throwable, message);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.INFO)) {
+            LoggerManager.getLogger().i(throwable, message);
+        }
     }
 
     /**
@@ -355,7 +417,9 @@ public final class Log {
      * @param message   a message you would like logged.
      */
     public static void w(Throwable throwable, String message) {
-        LoggerManager.getLogger().w(throwable, message);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.WARN)) {
+            LoggerManager.getLogger().w(throwable, message);
+        }
     }
 
     /**
@@ -365,7 +429,9 @@ public final class Log {
      * @param message   a message you would like logged.
      */
     public static void e(Throwable throwable, String message) {
-        LoggerManager.getLogger().e(throwable, message);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ERROR)) {
+            LoggerManager.getLogger().e(throwable, message);
+        }
     }
 
     /**
@@ -375,7 +441,9 @@ public final class Log {
      * @param message   a message you would like logged.
      */
     public static void a(Throwable throwable, String message) {
-        LoggerManager.getLogger().a(throwable, message);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ASSERT)) {
+            LoggerManager.getLogger().a(throwable, message);
+        }
     }
 
     /**
@@ -385,7 +453,9 @@ public final class Log {
      * @param args          arguments for a formatter.
      */
     public static void v(String messageFormat, Object... args) {
-        LoggerManager.getLogger().v(messageFormat, args);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.VERBOSE)) {
+            LoggerManager.getLogger().v(messageFormat, args);
+        }
     }
 
     /**
@@ -395,7 +465,9 @@ public final class Log {
      * @param args          arguments for a formatter.
      */
     public static void d(String messageFormat, Object... args) {
-        LoggerManager.getLogger().d(messageFormat, args);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.DEBUG)) {
+            LoggerManager.getLogger().d(messageFormat, args);
+        }
     }
 
     /**
@@ -405,7 +477,9 @@ public final class Log {
      * @param args          arguments for a formatter.
      */
     public static void i(String messageFormat, Object... args) {
-        LoggerManager.getLogger().i(messageFormat, args);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.INFO)) {
+            LoggerManager.getLogger().i(messageFormat, args);
+        }
     }
 
     /**
@@ -415,7 +489,9 @@ public final class Log {
      * @param args          arguments for a formatter.
      */
     public static void w(String messageFormat, Object... args) {
-        LoggerManager.getLogger().w(messageFormat, args);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.WARN)) {
+            LoggerManager.getLogger().w(messageFormat, args);
+        }
     }
 
     /**
@@ -425,7 +501,9 @@ public final class Log {
      * @param args          arguments for a formatter.
      */
     public static void e(String messageFormat, Object... args) {
-        LoggerManager.getLogger().e(messageFormat, args);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ERROR)) {
+            LoggerManager.getLogger().e(messageFormat, args);
+        }
     }
 
     /**
@@ -435,7 +513,9 @@ public final class Log {
      * @param args          arguments for a formatter.
      */
     public static void a(String messageFormat, Object... args) {
-        LoggerManager.getLogger().a(messageFormat, args);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ASSERT)) {
+            LoggerManager.getLogger().a(messageFormat, args);
+        }
     }
 
     /**
@@ -444,7 +524,9 @@ public final class Log {
      * @param message a message you would like logged.
      */
     public static void v(String message) {
-        LoggerManager.getLogger().v(message);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.VERBOSE)) {
+            LoggerManager.getLogger().v(message);
+        }
     }
 
     /**
@@ -453,7 +535,9 @@ public final class Log {
      * @param message a message you would like logged.
      */
     public static void d(String message) {
-        LoggerManager.getLogger().d(message);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.DEBUG)) {
+            LoggerManager.getLogger().d(message);
+        }
     }
 
     /**
@@ -462,7 +546,9 @@ public final class Log {
      * @param message a message you would like logged.
      */
     public static void i(String message) {
-        LoggerManager.getLogger().i(message);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.INFO)) {
+            LoggerManager.getLogger().i(message);
+        }
     }
 
     /**
@@ -471,7 +557,9 @@ public final class Log {
      * @param message a message you would like logged.
      */
     public static void w(String message) {
-        LoggerManager.getLogger().w(message);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.WARN)) {
+            LoggerManager.getLogger().w(message);
+        }
     }
 
     /**
@@ -480,7 +568,9 @@ public final class Log {
      * @param message a message you would like logged.
      */
     public static void e(String message) {
-        LoggerManager.getLogger().e(message);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ERROR)) {
+            LoggerManager.getLogger().e(message);
+        }
     }
 
     /**
@@ -489,7 +579,147 @@ public final class Log {
      * @param message a message you would like logged.
      */
     public static void a(String message) {
-        LoggerManager.getLogger().a(message);
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ASSERT)) {
+            LoggerManager.getLogger().a(message);
+        }
+    }
+
+    /**
+     * Send a {@link Logger.Level#VERBOSE} log message built only if the level is enabled.
+     *
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public static void v(Throwable throwable, MessageSupplier messageSupplier) {
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.VERBOSE)) {
+            LoggerManager.getLogger().v(throwable, messageSupplier);
+        }
+    }
+
+    /**
+     * Send a {@link Logger.Level#DEBUG} log message built only if the level is enabled.
+     *
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public static void d(Throwable throwable, MessageSupplier messageSupplier) {
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.DEBUG)) {
+            LoggerManager.getLogger().d(throwable, messageSupplier);
+        }
+    }
+
+    /**
+     * Send a {@link Logger.Level#INFO} log message built only if the level is enabled.
+     *
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public static void i(Throwable throwable, MessageSupplier messageSupplier) {
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.INFO)) {
+            LoggerManager.getLogger().i(throwable, messageSupplier);
+        }
+    }
+
+    /**
+     * Send a {@link Logger.Level#WARN} log message built only if the level is enabled.
+     *
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public static void w(Throwable throwable, MessageSupplier messageSupplier) {
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.WARN)) {
+            LoggerManager.getLogger().w(throwable, messageSupplier);
+        }
+    }
+
+    /**
+     * Send a {@link Logger.Level#ERROR} log message built only if the level is enabled.
+     *
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public static void e(Throwable throwable, MessageSupplier messageSupplier) {
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ERROR)) {
+            LoggerManager.getLogger().e(throwable, messageSupplier);
+        }
+    }
+
+    /**
+     * Send a {@link Logger.Level#ASSERT} log message built only if the level is enabled.
+     *
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public static void a(Throwable throwable, MessageSupplier messageSupplier) {
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ASSERT)) {
+            LoggerManager.getLogger().a(throwable, messageSupplier);
+        }
+    }
+
+    /**
+     * Send a {@link Logger.Level#VERBOSE} log message built only if the level is enabled.
+     *
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public static void v(MessageSupplier messageSupplier) {
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.VERBOSE)) {
+            LoggerManager.getLogger().v(messageSupplier);
+        }
+    }
+
+    /**
+     * Send a {@link Logger.Level#DEBUG} log message built only if the level is enabled.
+     *
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public static void d(MessageSupplier messageSupplier) {
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.DEBUG)) {
+            LoggerManager.getLogger().d(messageSupplier);
+        }
+    }
+
+    /**
+     * Send a {@link Logger.Level#INFO} log message built only if the level is enabled.
+     *
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public static void i(MessageSupplier messageSupplier) {
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.INFO)) {
+            LoggerManager.getLogger().i(messageSupplier);
+        }
+    }
+
+    /**
+     * Send a {@link Logger.Level#WARN} log message built only if the level is enabled.
+     *
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public static void w(MessageSupplier messageSupplier) {
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.WARN)) {
+            LoggerManager.getLogger().w(messageSupplier);
+        }
+    }
+
+    /**
+     * Send a {@link Logger.Level#ERROR} log message built only if the level is enabled.
+     *
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public static void e(MessageSupplier messageSupplier) {
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ERROR)) {
+            LoggerManager.getLogger().e(messageSupplier);
+        }
+    }
+
+    /**
+     * Send a {@link Logger.Level#ASSERT} log message built only if the level is enabled.
+     *
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public static void a(MessageSupplier messageSupplier) {
+        if (LoggerManager.isEnabledAnywhere(Logger.Level.ASSERT)) {
+            LoggerManager.getLogger().a(messageSupplier);
+        }
     }
 
 }
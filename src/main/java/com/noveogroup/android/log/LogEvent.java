@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log;
+
+import android.util.Log;
+
+import java.util.Map;
+
+/**
+ * Snapshot of a logging event.
+ * <p/>
+ * Some parts of an event (the caller, the thread, the time and
+ * the diagnostic context) depend on
+ * the thread that logs a message. When a message is printed later on
+ * another thread they should be captured in advance and replayed while
+ * the message is printed. Printing code should use {@link #getCaller()},
+ * {@link #getThreadName()}, {@link #getTime()} and {@link #getContext()}
+ * instead of asking the current thread directly.
+ */
+final class LogEvent {
+
+    private static final ThreadLocal<LogEvent> CURRENT = new ThreadLocal<LogEvent>();
+
+    private String loggerName;
+    private Logger.Level level;
+    private Throwable throwable;
+    private String message;
+    private Object[] args;
+    private boolean formatted;
+    private StackTraceElement caller;
+    private String threadName;
+    private long time;
+    private Map<String, String> context;
+    private String stackTraceString;
+
+    /**
+     * Captures a logging event on the current thread.
+     *
+     * @param loggerName    the name of the logger.
+     * @param level         the level of the message.
+     * @param throwable     the throwable or {@code null}.
+     * @param message       the message or the message format.
+     * @param args          the arguments of the message format.
+     * @param formatted     whether the message is a format string.
+     * @param captureCaller whether the caller should be captured.
+     */
+    public void capture(String loggerName, Logger.Level level, Throwable throwable,
+                        String message, Object[] args, boolean formatted, boolean captureCaller) {
+        this.loggerName = loggerName;
+        this.level = level;
+        this.throwable = throwable;
+        this.message = message;
+        this.args = args;
+        this.formatted = formatted;
+        this.caller = captureCaller ? getCaller() : null;
+        this.threadName = getThreadName();
+        this.time = getTime();
+        // the context map is never changed so the reference is a snapshot
+        this.context = getContext();
+        this.stackTraceString = null;
+    }
+
+    /**
+     * Releases all references held by this event.
+     */
+    public void clear() {
+        loggerName = null;
+        level = null;
+        throwable = null;
+        message = null;
+        args = null;
+        caller = null;
+        threadName = null;
+        context = null;
+        stackTraceString = null;
+    }
+
+    /**
+     * Prints this event using the specified handler. The captured caller,
+     * thread and time are used while the handler prints the message.
+     *
+     * @param handler the handler.
+     */
+    public void replay(Handler handler) {
+        LogEvent previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            if (formatted) {
+                handler.print(loggerName, level, throwable, message, args);
+            } else {
+                handler.print(loggerName, level, throwable, message);
+            }
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Checks if the specified handler prints information about a caller,
+     * so the caller should be captured before the event is printed.
+     *
+     * @param handler the handler.
+     * @return true if the caller is needed.
+     */
+    static boolean isCallerNeeded(Handler handler) {
+        if (handler instanceof PatternHandler) {
+            return ((PatternHandler) handler).isCallerNeeded();
+        } else if (handler instanceof AsyncHandler) {
+            return ((AsyncHandler) handler).isCallerNeeded();
+        } else if (handler instanceof CompositeHandler) {
+            return ((CompositeHandler) handler).isCallerNeeded();
+        } else {
+            // unknown handlers may ask for the caller
+            return true;
+        }
+    }
+
+    /**
+     * Returns the stack trace string of the throwable. The string is computed
+     * once for the event that is printed now and shared between handlers.
+     *
+     * @param throwable the throwable.
+     * @return the stack trace string.
+     */
+    public static String getStackTraceString(Throwable throwable) {
+        LogEvent event = CURRENT.get();
+        if (event == null || event.throwable != throwable) {
+            return Log.getStackTraceString(throwable);
+        }
+        if (event.stackTraceString == null) {
+            event.stackTraceString = Log.getStackTraceString(throwable);
+        }
+        return event.stackTraceString;
+    }
+
+    /**
+     * Returns the caller of the logging event that is printed now.
+     *
+     * @return the caller stack trace element.
+     */
+    public static StackTraceElement getCaller() {
+        LogEvent event = CURRENT.get();
+        return event == null ? Utils.getCaller() : event.caller;
+    }
+
+    /**
+     * Returns the name of the thread that logged the event that is printed now.
+     *
+     * @return the name of the thread.
+     */
+    public static String getThreadName() {
+        LogEvent event = CURRENT.get();
+        return event == null ? Thread.currentThread().getName() : event.threadName;
+    }
+
+    /**
+     * Returns the time of the logging event that is printed now.
+     *
+     * @return the time in milliseconds.
+     */
+    public static long getTime() {
+        LogEvent event = CURRENT.get();
+        return event == null ? System.currentTimeMillis() : event.time;
+    }
+
+    /**
+     * Returns the diagnostic context of the logging event that is printed now.
+     *
+     * @return the unmodifiable context map.
+     */
+    public static Map<String, String> getContext() {
+        LogEvent event = CURRENT.get();
+        return event == null ? DiagnosticContext.getContext() : event.context;
+    }
+
+}
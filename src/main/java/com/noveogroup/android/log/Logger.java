@@ -213,6 +213,15 @@ public interface Logger {
      */
     public void print(Level level, Throwable throwable, String messageFormat, Object... args);
 
+    /**
+     * Low-level logging call. The message is built only if the level is enabled.
+     *
+     * @param level           a level of this log message
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public void print(Level level, Throwable throwable, MessageSupplier messageSupplier);
+
     /**
      * Send a {@link Level#VERBOSE} log message.
      *
@@ -495,4 +504,94 @@ public interface Logger {
      */
     public void a(String message);
 
+    /**
+     * Send a {@link Level#VERBOSE} log message built only if the level is enabled.
+     *
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public void v(Throwable throwable, MessageSupplier messageSupplier);
+
+    /**
+     * Send a {@link Level#DEBUG} log message built only if the level is enabled.
+     *
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public void d(Throwable throwable, MessageSupplier messageSupplier);
+
+    /**
+     * Send a {@link Level#INFO} log message built only if the level is enabled.
+     *
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public void i(Throwable throwable, MessageSupplier messageSupplier);
+
+    /**
+     * Send a {@link Level#WARN} log message built only if the level is enabled.
+     *
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public void w(Throwable throwable, MessageSupplier messageSupplier);
+
+    /**
+     * Send a {@link Level#ERROR} log message built only if the level is enabled.
+     *
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public void e(Throwable throwable, MessageSupplier messageSupplier);
+
+    /**
+     * Send a {@link Level#ASSERT} log message built only if the level is enabled.
+     *
+     * @param throwable       an additional throwable object.
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public void a(Throwable throwable, MessageSupplier messageSupplier);
+
+    /**
+     * Send a {@link Level#VERBOSE} log message built only if the level is enabled.
+     *
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public void v(MessageSupplier messageSupplier);
+
+    /**
+     * Send a {@link Level#DEBUG} log message built only if the level is enabled.
+     *
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public void d(MessageSupplier messageSupplier);
+
+    /**
+     * Send a {@link Level#INFO} log message built only if the level is enabled.
+     *
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public void i(MessageSupplier messageSupplier);
+
+    /**
+     * Send a {@link Level#WARN} log message built only if the level is enabled.
+     *
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public void w(MessageSupplier messageSupplier);
+
+    /**
+     * Send a {@link Level#ERROR} log message built only if the level is enabled.
+     *
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public void e(MessageSupplier messageSupplier);
+
+    /**
+     * Send a {@link Level#ASSERT} log message built only if the level is enabled.
+     *
+     * @param messageSupplier a supplier of the message you would like logged.
+     */
+    public void a(MessageSupplier messageSupplier);
+
 }
@@ -26,6 +26,8 @@
 
 package com.noveogroup.android.log;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
@@ -54,6 +56,48 @@ import java.util.regex.Pattern;
  * logger.com.example.server=DEBUG:MyApplication-server
  * </pre>
  * <p/>
+ * If an application logs messages through its own helper classes
+ * they can be listed (comma separated) as wrappers. Frames of
+ * the wrappers are skipped while looking for a caller:
+ * <pre>
+ * wrappers=com.example.util.LogHelper,com.example.log
+ * </pre>
+ * <p/>
+ * A logger can print messages using several handlers. Additional handlers
+ * are configured by keys with a label after '#' sign. Each handler has its
+ * own level and the message is formatted only once for all of them:
+ * <pre>
+ * logger.com.example.server=INFO:MyApplication-server
+ * logger.com.example.server#trace=VERBOSE:MyApplication-trace:%caller
+ * </pre>
+ * <p/>
+ * Messages of a configured logger can be printed asynchronously on
+ * a background thread. The value is the maximum number of queued
+ * messages or {@code true} to use the default capacity:
+ * <pre>
+ * async.root=true
+ * async.com.example.server=4096
+ * </pre>
+ * <p/>
+ * Long messages are split into several logcat entries. The continued
+ * entries can be prefixed with a marker:
+ * <pre>
+ * continuation=...
+ * </pre>
+ * <p/>
+ * Created loggers are kept by the logger manager. To let unused loggers
+ * be garbage collected they can be held weakly:
+ * <pre>
+ * retention=weak
+ * </pre>
+ * <p/>
+ * The properties file can be validated and compiled to a class at build
+ * time (see {@link ConfigurationCompiler}). If the compiled configuration
+ * is found in the classpath it is used instead of the properties file.
+ * <p/>
+ * The configuration can be changed at runtime using
+ * {@link #configure(Properties)} or by watching an external
+ * properties file with {@link #watchConfiguration(File, long)}.
  */
 public final class LoggerManager {
 
@@ -61,15 +105,29 @@ public final class LoggerManager {
         throw new UnsupportedOperationException();
     }
 
-    private static final Handler DEFAULT_HANDLER = new PatternHandler(Logger.Level.VERBOSE, "%logger", "%date %caller%n");
+    static final String DEFAULT_TAG = "%logger";
+    static final String DEFAULT_MESSAGE = "%date %caller%n";
+
+    private static final Handler DEFAULT_HANDLER = new PatternHandler(Logger.Level.VERBOSE, DEFAULT_TAG, DEFAULT_MESSAGE);
     private static final Logger DEFAULT_LOGGER = new SimpleLogger(Logger.ROOT_LOGGER_NAME, DEFAULT_HANDLER);
+    private static final HandlerFactory DEFAULT_HANDLER_FACTORY = HandlerFactory.of(Logger.Level.VERBOSE, DEFAULT_HANDLER);
 
-    private static final int MAX_LOG_TAG_LENGTH = 23;
+    static final int MAX_LOG_TAG_LENGTH = 23;
+    // leaves most of a logcat entry for the message even if each char takes 3 bytes
+    static final int MAX_CONTINUATION_MARKER_LENGTH = 64;
 
-    private static final String PROPERTIES_NAME = "android-logger.properties";
-    private static final String CONF_ROOT = "root";
-    private static final String CONF_LOGGER = "logger.";
-    private static final Pattern CONF_LOGGER_REGEX = Pattern.compile("(.*?):(.*?)(:(.*))?");
+    static final String PROPERTIES_NAME = "android-logger.properties";
+    static final String CONF_ROOT = "root";
+    static final String CONF_LOGGER = "logger.";
+    static final String CONF_WRAPPERS = "wrappers";
+    static final String CONF_ASYNC = "async.";
+    static final char CONF_LABEL_SEPARATOR = '#';
+    static final String CONF_CONTINUATION = "continuation";
+    static final String CONF_RETENTION = "retention";
+    static final String RETENTION_STRONG = "strong";
+    static final String RETENTION_WEAK = "weak";
+    static final String CONF_LOGGER_FORMAT = "(.*?):(.*?)(:(.*))?";
+    private static final Pattern CONF_LOGGER_REGEX = Pattern.compile(CONF_LOGGER_FORMAT);
 
     private static void loadProperties(Properties properties) throws IOException {
         InputStream inputStream = null;
@@ -90,102 +148,531 @@ public final class LoggerManager {
         }
     }
 
-    private static Handler decodeHandler(String handlerString) {
+    private static HandlerFactory decodeHandler(String handlerString, final String continuationMarker) {
         Matcher matcher = CONF_LOGGER_REGEX.matcher(handlerString);
         if (matcher.matches()) {
             String levelString = matcher.group(1);
             String tag = matcher.group(2);
-            String message = matcher.group(4);
-            if (tag.length() > 23) {
+            final String message = matcher.group(4);
+            if (tag.length() > MAX_LOG_TAG_LENGTH) {
                 String trimmedTag = tag.substring(0, MAX_LOG_TAG_LENGTH);
                 DEFAULT_LOGGER.w("Android doesn't support tags %d characters longer. Tag '%s' will be trimmed to '%s'", MAX_LOG_TAG_LENGTH, tag, trimmedTag);
                 tag = trimmedTag;
             }
+            final Logger.Level level;
             try {
-                return new PatternHandler(Logger.Level.valueOf(levelString), tag, message);
+                level = Logger.Level.valueOf(levelString);
             } catch (IllegalArgumentException e) {
                 DEFAULT_LOGGER.w("Cannot parse '%s' as logging level. Only %s are allowed",
                         levelString, Arrays.toString(Logger.Level.values()));
                 return null;
             }
+            // patterns are compiled when a logger uses the handler first time
+            final String tagPattern = tag;
+            return new HandlerFactory(level) {
+                @Override
+                protected Handler createHandler() {
+                    return new PatternHandler(level, tagPattern, message, continuationMarker);
+                }
+            };
         } else {
             DEFAULT_LOGGER.w("Wrong format of logger configuration: '%s'", handlerString);
             return null;
         }
     }
 
-    private static Map<String, Handler> loadConfiguration() {
-        Map<String, Handler> handlerMap = new HashMap<String, Handler>();
+    private static Handler decodeAsyncHandler(Handler handler, String asyncString) {
+        String value = asyncString.trim();
+        if (value.equalsIgnoreCase("false")) {
+            return handler;
+        }
+        if (value.equalsIgnoreCase("true")) {
+            return new AsyncHandler(handler);
+        }
+        try {
+            return new AsyncHandler(handler, Integer.parseInt(value));
+        } catch (IllegalArgumentException e) {
+            DEFAULT_LOGGER.w("Cannot parse '%s' as capacity of asynchronous logger", asyncString);
+            return handler;
+        }
+    }
+
+    private static HandlerFactory decodeAsyncHandler(final HandlerFactory handlerFactory, final String asyncString) {
+        return new HandlerFactory(handlerFactory.getLevel()) {
+            @Override
+            protected Handler createHandler() {
+                return decodeAsyncHandler(handlerFactory.getHandler(), asyncString);
+            }
+        };
+    }
+
+    private static HandlerFactory combineHandlers(Collection<HandlerFactory> handlerFactories) {
+        if (handlerFactories.size() == 1) {
+            return handlerFactories.iterator().next();
+        }
 
-        // read properties file
+        final HandlerFactory[] factories = handlerFactories.toArray(new HandlerFactory[handlerFactories.size()]);
+        Logger.Level level = null;
+        for (HandlerFactory factory : factories) {
+            level = HandlerFactory.getLowestLevel(level, factory.getLevel());
+        }
+        return new HandlerFactory(level) {
+            @Override
+            protected Handler createHandler() {
+                Handler[] handlers = new Handler[factories.length];
+                for (int i = 0; i < factories.length; i++) {
+                    handlers[i] = factories[i].getHandler();
+                }
+                return new CompositeHandler(handlers);
+            }
+        };
+    }
+
+    private static Properties readProperties() {
         Properties properties = new Properties();
         try {
             loadProperties(properties);
+            return properties;
         } catch (IOException e) {
             DEFAULT_LOGGER.e(e, "Cannot configure logger from '%s'. Default configuration will be used", PROPERTIES_NAME);
-            handlerMap.put(null, DEFAULT_HANDLER);
+            return null;
+        }
+    }
+
+    private static boolean decodeRetention(Properties properties) {
+        String retention = properties == null ? null : properties.getProperty(CONF_RETENTION);
+        if (retention == null || retention.trim().equalsIgnoreCase(RETENTION_STRONG)) {
+            return false;
+        } else if (retention.trim().equalsIgnoreCase(RETENTION_WEAK)) {
+            return true;
+        } else {
+            DEFAULT_LOGGER.w("Unknown retention '%s'. Only '%s' and '%s' are allowed",
+                    retention, RETENTION_STRONG, RETENTION_WEAK);
+            return false;
+        }
+    }
+
+    private static CompiledConfiguration loadCompiledConfiguration() {
+        try {
+            return (CompiledConfiguration) Class.forName(CompiledConfiguration.CLASS_NAME).newInstance();
+        } catch (ClassNotFoundException e) {
+            DEFAULT_LOGGER.d("Compiled logger configuration '%s' is not found. '%s' file will be used",
+                    CompiledConfiguration.CLASS_NAME, PROPERTIES_NAME);
+            return null;
+        } catch (Exception e) {
+            DEFAULT_LOGGER.e(e, "Cannot load compiled logger configuration '%s'. '%s' file will be used",
+                    CompiledConfiguration.CLASS_NAME, PROPERTIES_NAME);
+            return null;
+        }
+    }
+
+    private static Map<String, HandlerFactory> loadConfiguration(final CompiledConfiguration compiledConfiguration) {
+        Map<String, HandlerFactory> handlerMap = new HashMap<String, HandlerFactory>();
+        for (String wrapper : compiledConfiguration.getWrappers()) {
+            Utils.addWrapper(wrapper);
+        }
+        String[] loggerNames = compiledConfiguration.getLoggerNames();
+        for (int i = 0; i < loggerNames.length; i++) {
+            final int index = i;
+            handlerMap.put(loggerNames[i], new HandlerFactory(compiledConfiguration.getLevel(index)) {
+                @Override
+                protected Handler createHandler() {
+                    return compiledConfiguration.createHandler(index);
+                }
+            });
+        }
+        if (!handlerMap.containsKey(null)) {
+            handlerMap.put(null, DEFAULT_HANDLER_FACTORY);
+        }
+        return handlerMap;
+    }
+
+    /**
+     * Parses the configuration.
+     *
+     * @param properties the configuration or {@code null} if it cannot be read.
+     * @param strict     whether an empty configuration or a configuration
+     *                   with wrong entries should be rejected instead of
+     *                   replacing wrong parts with defaults.
+     * @return the handler map or {@code null} if the configuration is rejected.
+     */
+    private static Map<String, HandlerFactory> loadConfiguration(Properties properties, boolean strict) {
+        Map<String, HandlerFactory> handlerMap = new HashMap<String, HandlerFactory>();
+
+        // properties file cannot be read
+        if (properties == null) {
+            if (strict) {
+                return null;
+            }
+            handlerMap.put(null, DEFAULT_HANDLER_FACTORY);
             return handlerMap;
         }
 
         // something is wrong if property file is empty
         if (!properties.propertyNames().hasMoreElements()) {
+            if (strict) {
+                DEFAULT_LOGGER.e("Logger configuration is empty. Current configuration is kept");
+                return null;
+            }
             DEFAULT_LOGGER.e("Logger configuration file is empty. Default configuration will be used");
-            handlerMap.put(null, DEFAULT_HANDLER);
+            handlerMap.put(null, DEFAULT_HANDLER_FACTORY);
             return handlerMap;
         }
 
+        int errorCount = 0;
+
         // parse properties to logger map
+        Map<String, SortedMap<String, HandlerFactory>> handlerLists = new HashMap<String, SortedMap<String, HandlerFactory>>();
+        Map<String, String> asyncMap = new HashMap<String, String>();
+        // identical handler definitions share one handler and its caches
+        Map<String, HandlerFactory> sharedHandlers = new HashMap<String, HandlerFactory>();
+        String continuationMarker = properties.getProperty(CONF_CONTINUATION);
+        if (continuationMarker != null && continuationMarker.length() > MAX_CONTINUATION_MARKER_LENGTH) {
+            String trimmedMarker = continuationMarker.substring(0, MAX_CONTINUATION_MARKER_LENGTH);
+            DEFAULT_LOGGER.w("Continuation marker cannot be longer than %d characters. Marker '%s' will be trimmed to '%s'",
+                    MAX_CONTINUATION_MARKER_LENGTH, continuationMarker, trimmedMarker);
+            continuationMarker = trimmedMarker;
+        }
         for (Enumeration<?> names = properties.propertyNames(); names.hasMoreElements(); ) {
             String propertyName = (String) names.nextElement();
             String propertyValue = properties.getProperty(propertyName);
 
-            Handler handler = decodeHandler(propertyValue);
+            if (propertyName.equals(CONF_WRAPPERS)) {
+                for (String wrapper : propertyValue.split(",")) {
+                    if (wrapper.trim().length() > 0) {
+                        Utils.addWrapper(wrapper.trim());
+                    }
+                }
+                continue;
+            }
+
+            if (propertyName.equals(CONF_CONTINUATION) || propertyName.equals(CONF_RETENTION)) {
+                continue;
+            }
+
+            if (propertyName.startsWith(CONF_ASYNC)) {
+                if (!isAsyncValue(propertyValue)) {
+                    DEFAULT_LOGGER.w("Cannot parse '%s' as capacity of asynchronous logger", propertyValue);
+                    errorCount++;
+                }
+                String loggerName = propertyName.substring(CONF_ASYNC.length());
+                if (loggerName.equalsIgnoreCase(Logger.ROOT_LOGGER_NAME)) {
+                    loggerName = null;
+                }
+                asyncMap.put(loggerName, propertyValue);
+                continue;
+            }
+
+            // several handlers of one logger are distinguished by labels
+            String key = propertyName;
+            String label = "";
+            int labelIndex = propertyName.indexOf(CONF_LABEL_SEPARATOR);
+            if (labelIndex >= 0) {
+                key = propertyName.substring(0, labelIndex);
+                label = propertyName.substring(labelIndex + 1);
+            }
+
+            HandlerFactory handler = sharedHandlers.get(propertyValue);
+            if (handler == null) {
+                handler = decodeHandler(propertyValue, continuationMarker);
+                if (handler != null) {
+                    sharedHandlers.put(propertyValue, handler);
+                } else {
+                    errorCount++;
+                }
+            }
             if (handler != null) {
-                if (propertyName.equals(CONF_ROOT)) {
-                    handlerMap.put(null, handler);
-                } else if (propertyName.startsWith(CONF_LOGGER)) {
-                    String loggerName = propertyName.substring(CONF_LOGGER.length());
+                if (key.equals(CONF_ROOT)) {
+                    addHandler(handlerLists, null, label, handler);
+                } else if (key.startsWith(CONF_LOGGER)) {
+                    String loggerName = key.substring(CONF_LOGGER.length());
                     if (loggerName.equalsIgnoreCase(Logger.ROOT_LOGGER_NAME)) {
                         loggerName = null;
                     }
-                    handlerMap.put(loggerName, handler);
+                    addHandler(handlerLists, loggerName, label, handler);
                 } else {
                     DEFAULT_LOGGER.e("unknown key '%s' in '%s' file", propertyName, PROPERTIES_NAME);
+                    errorCount++;
                 }
             }
         }
 
+        // combine handlers of loggers with several handlers
+        for (Map.Entry<String, SortedMap<String, HandlerFactory>> entry : handlerLists.entrySet()) {
+            handlerMap.put(entry.getKey(), combineHandlers(entry.getValue().values()));
+        }
+
         // logger map should have root logger (corresponding to "null" key)
         if (!handlerMap.containsKey(null)) {
-            handlerMap.put(null, DEFAULT_HANDLER);
+            handlerMap.put(null, DEFAULT_HANDLER_FACTORY);
+        }
+
+        // wrap handlers of asynchronous loggers
+        for (Map.Entry<String, String> entry : asyncMap.entrySet()) {
+            HandlerFactory handler = handlerMap.get(entry.getKey());
+            if (handler == null) {
+                DEFAULT_LOGGER.e("asynchronous logger '%s' is not configured in '%s' file", entry.getKey(), PROPERTIES_NAME);
+                errorCount++;
+            } else {
+                handlerMap.put(entry.getKey(), decodeAsyncHandler(handler, entry.getValue()));
+            }
         }
 
+        if (strict && errorCount > 0) {
+            DEFAULT_LOGGER.e("Logger configuration has %d wrong entries. Current configuration is kept", errorCount);
+            return null;
+        }
         return handlerMap;
     }
 
-    private static final Map<String, Handler> HANDLER_MAP = Collections.unmodifiableMap(loadConfiguration());
+    private static boolean isAsyncValue(String asyncString) {
+        String value = asyncString.trim();
+        if (value.equalsIgnoreCase("false") || value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(value) > 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static void addHandler(Map<String, SortedMap<String, HandlerFactory>> handlerLists,
+                                   String loggerName, String label, HandlerFactory handler) {
+        SortedMap<String, HandlerFactory> handlers = handlerLists.get(loggerName);
+        if (handlers == null) {
+            handlers = new TreeMap<String, HandlerFactory>();
+            handlerLists.put(loggerName, handlers);
+        }
+        handlers.put(label, handler);
+    }
+
+    /**
+     * Resolved configuration. Is replaced as a whole when the logger manager
+     * is reconfigured. Handlers are created when loggers using them are
+     * created first time.
+     */
+    private static final class Configuration {
+
+        private final Map<String, HandlerFactory> handlerMap;
+        private final NameTrie<HandlerFactory> handlerTrie;
+        private final boolean[] enabledLevels;
+
+        public Configuration(Map<String, HandlerFactory> handlerMap) {
+            this.handlerMap = handlerMap;
+            this.handlerTrie = new NameTrie<HandlerFactory>();
+            for (Map.Entry<String, HandlerFactory> entry : handlerMap.entrySet()) {
+                handlerTrie.put(entry.getKey(), entry.getValue());
+            }
+
+            Logger.Level[] levels = Logger.Level.values();
+            this.enabledLevels = new boolean[levels.length];
+            for (HandlerFactory handlerFactory : handlerMap.values()) {
+                for (Logger.Level level : levels) {
+                    if (handlerFactory.isEnabled(level)) {
+                        enabledLevels[level.ordinal()] = true;
+                    }
+                }
+            }
+        }
+
+        public Handler findHandler(String name) {
+            HandlerFactory handlerFactory = handlerTrie.find(name);
+            return handlerFactory != null ? handlerFactory.getHandler() : DEFAULT_HANDLER;
+        }
+
+        public boolean isEnabledAnywhere(Logger.Level level) {
+            return enabledLevels[level.ordinal()];
+        }
+
+        public void close() {
+            for (HandlerFactory handlerFactory : handlerMap.values()) {
+                handlerFactory.close();
+            }
+        }
+
+    }
+
+    private static final LoggerRegistry LOGGER_REGISTRY;
+    private static final Object CONFIGURATION_LOCK = new Object();
+    private static volatile Configuration configuration;
+    private static Thread watcherThread; // is guarded by CONFIGURATION_LOCK
+
+    static {
+        // prefer the configuration compiled at build time to parsing of the properties file
+        CompiledConfiguration compiledConfiguration = loadCompiledConfiguration();
+        if (compiledConfiguration != null) {
+            LOGGER_REGISTRY = new LoggerRegistry(compiledConfiguration.isWeakRetention());
+            publishConfiguration(loadConfiguration(compiledConfiguration));
+        } else {
+            Properties properties = readProperties();
+            LOGGER_REGISTRY = new LoggerRegistry(decodeRetention(properties));
+            publishConfiguration(loadConfiguration(properties, false));
+        }
+    }
+
+    private static void publishConfiguration(Map<String, HandlerFactory> handlerMap) {
+        synchronized (CONFIGURATION_LOCK) {
+            Configuration oldConfiguration = configuration;
+            configuration = new Configuration(handlerMap);
+            for (Logger logger : LOGGER_REGISTRY.getLoggers()) {
+                rebind(logger);
+            }
+            if (oldConfiguration != null) {
+                oldConfiguration.close();
+            }
+        }
+    }
+
+    private static void rebind(Logger logger) {
+        if (logger instanceof SimpleLogger) {
+            SimpleLogger simpleLogger = (SimpleLogger) logger;
+            Configuration currentConfiguration;
+            // repeat if the configuration is changed concurrently
+            do {
+                currentConfiguration = configuration;
+                simpleLogger.setHandler(findHandler(currentConfiguration, simpleLogger.getName()));
+            } while (currentConfiguration != configuration);
+        }
+    }
 
-    private static Handler findHandler(String name) {
-        String currentKey = null;
-        if (name != null) {
-            for (String key : HANDLER_MAP.keySet()) {
-                if (key != null && name.startsWith(key)) {
-                    // check that key corresponds to a name of sub-package
-                    if (key.length() >= name.length()
-                            || name.charAt(key.length()) == '.' || name.charAt(key.length()) == '$') {
-                        // update current best matching key
-                        if (currentKey == null || currentKey.length() < key.length()) {
-                            currentKey = key;
+    private static Handler findHandler(Configuration configuration, String name) {
+        // loggers can be requested while the configuration is being loaded
+        return configuration == null ? DEFAULT_HANDLER : configuration.findHandler(name);
+    }
+
+    /**
+     * Checks if the specified level is enabled by at least one configured logger.
+     * <p/>
+     * This check doesn't need a logger so it can be used to discard messages
+     * before looking for a caller.
+     *
+     * @param level the level.
+     * @return false if no logger can print messages with this level.
+     */
+    static boolean isEnabledAnywhere(Logger.Level level) {
+        Configuration currentConfiguration = configuration;
+        // loggers can be used while the configuration is being loaded
+        return currentConfiguration == null || level == null || currentConfiguration.isEnabledAnywhere(level);
+    }
+
+    /**
+     * Reconfigures the logger manager.
+     * <p/>
+     * The properties have the same format as {@code android-logger.properties}
+     * file. All loggers created before start to use new configuration on their
+     * next call. Retention of loggers cannot be changed and wrappers can only
+     * be added.
+     * <p/>
+     * If the configuration is empty or has wrong entries it is rejected
+     * and the current configuration is kept.
+     *
+     * @param properties the configuration.
+     */
+    public static void configure(Properties properties) {
+        Map<String, HandlerFactory> handlerMap = loadConfiguration(properties, true);
+        if (handlerMap != null) {
+            publishConfiguration(handlerMap);
+        }
+    }
+
+    /**
+     * Reconfigures the logger manager from the specified properties file.
+     *
+     * @param file the configuration file.
+     * @throws IOException if the file cannot be read.
+     * @see #configure(Properties)
+     */
+    public static void configure(File file) throws IOException {
+        Properties properties = new Properties();
+        InputStream inputStream = new FileInputStream(file);
+        try {
+            properties.load(inputStream);
+        } finally {
+            inputStream.close();
+        }
+        configure(properties);
+    }
+
+    /**
+     * Reconfigures the logger manager from the compiled configuration
+     * or {@code android-logger.properties} file found in the classpath.
+     * Unlike {@link #configure(Properties)} wrong parts of the configuration
+     * are replaced with defaults.
+     *
+     * @see #configure(Properties)
+     * @see CompiledConfiguration
+     */
+    public static void resetConfiguration() {
+        CompiledConfiguration compiledConfiguration = loadCompiledConfiguration();
+        if (compiledConfiguration != null) {
+            publishConfiguration(loadConfiguration(compiledConfiguration));
+        } else {
+            publishConfiguration(loadConfiguration(readProperties(), false));
+        }
+    }
+
+    /**
+     * Starts watching the specified properties file. The logger manager
+     * is reconfigured every time the file is changed. The file is checked
+     * periodically in a background thread. Only one file can be watched.
+     * If the file is read while it is being written, the configuration is
+     * likely to be empty or wrong, so it is rejected until the next change.
+     *
+     * @param file   the configuration file.
+     * @param period the period of checks in milliseconds.
+     * @see #configure(File)
+     */
+    public static void watchConfiguration(final File file, final long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("wrong period: " + period);
+        }
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                long lastModified = 0;
+                long length = -1;
+                while (!Thread.currentThread().isInterrupted()) {
+                    if (file.exists() && (file.lastModified() != lastModified || file.length() != length)) {
+                        lastModified = file.lastModified();
+                        length = file.length();
+                        try {
+                            configure(file);
+                        } catch (IOException e) {
+                            DEFAULT_LOGGER.e(e, "Cannot configure logger from '%s'", file);
                         }
                     }
+                    try {
+                        Thread.sleep(period);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
                 }
             }
+        }, "LoggerManager-watcher");
+        thread.setDaemon(true);
+
+        synchronized (CONFIGURATION_LOCK) {
+            stopWatchingConfiguration();
+            watcherThread = thread;
+            thread.start();
         }
-        Handler handler = HANDLER_MAP.get(currentKey);
-        return handler != null ? handler : DEFAULT_HANDLER;
     }
 
-    private static final Map<String, Logger> LOGGER_CACHE = new WeakHashMap<String, Logger>();
+    /**
+     * Stops watching of the configuration file.
+     *
+     * @see #watchConfiguration(File, long)
+     */
+    public static void stopWatchingConfiguration() {
+        synchronized (CONFIGURATION_LOCK) {
+            if (watcherThread != null) {
+                watcherThread.interrupt();
+                watcherThread = null;
+            }
+        }
+    }
 
     /**
      * Returns logger corresponding to the specified name.
@@ -194,18 +681,16 @@ public final class LoggerManager {
      * @return the {@link Logger} implementation.
      */
     public static Logger getLogger(String name) {
-        Logger logger;
-
-        // try to find a logger in the cache
-        synchronized (LOGGER_CACHE) {
-            logger = LOGGER_CACHE.get(name);
-        }
+        // try to find a logger in the registry
+        Logger logger = LOGGER_REGISTRY.get(name);
 
         // load logger from configuration
         if (logger == null) {
-            logger = new SimpleLogger(name, findHandler(name));
-            synchronized (LOGGER_CACHE) {
-                LOGGER_CACHE.put(logger.getName(), logger);
+            Configuration currentConfiguration = configuration;
+            logger = LOGGER_REGISTRY.putIfAbsent(new SimpleLogger(name, findHandler(currentConfiguration, name)));
+            // the configuration could be changed while the logger was being created
+            if (currentConfiguration != configuration) {
+                rebind(logger);
             }
         }
 
@@ -232,4 +717,76 @@ public final class LoggerManager {
         return getLogger(Utils.getCallerClassName());
     }
 
+    /**
+     * Statistics of the logger registry.
+     */
+    public static final class Statistics {
+
+        private final long hitCount;
+        private final long missCount;
+        private final int loggerCount;
+
+        private Statistics(long hitCount, long missCount, int loggerCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.loggerCount = loggerCount;
+        }
+
+        /**
+         * Returns the number of requests of already created loggers.
+         *
+         * @return the number of hits.
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Returns the number of requests that created new loggers.
+         *
+         * @return the number of misses.
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Returns the number of loggers held by the registry.
+         * If loggers are held weakly it includes only loggers
+         * that are not collected yet.
+         *
+         * @return the number of live loggers.
+         */
+        public int getLoggerCount() {
+            return loggerCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{hits=" + hitCount + ", misses=" + missCount + ", loggers=" + loggerCount + "}";
+        }
+
+    }
+
+    /**
+     * Checks if loggers are held weakly, so loggers that are not used
+     * anymore can be collected. Retention is set by the configuration
+     * loaded first and never changes.
+     *
+     * @return true if loggers are held weakly.
+     */
+    public static boolean isWeakRetention() {
+        return LOGGER_REGISTRY.isWeak();
+    }
+
+    /**
+     * Returns statistics of the logger registry.
+     *
+     * @return the snapshot of the statistics.
+     */
+    public static Statistics getStatistics() {
+        return new Statistics(LOGGER_REGISTRY.getHitCount(), LOGGER_REGISTRY.getMissCount(),
+                LOGGER_REGISTRY.getLoggerCount());
+    }
+
 }
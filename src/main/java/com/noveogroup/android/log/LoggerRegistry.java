@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Concurrent registry of loggers.
+ * <p/>
+ * Loggers are looked up without locks. If several threads create a logger
+ * with the same name at once only one of them is registered and returned
+ * to all the threads.
+ * <p/>
+ * The registry holds loggers strongly or weakly. Weakly held loggers are
+ * removed from the registry after they are collected.
+ */
+final class LoggerRegistry {
+
+    private static final class LoggerReference extends WeakReference<Logger> {
+
+        private final String name;
+
+        public LoggerReference(Logger logger, ReferenceQueue<Logger> queue) {
+            super(logger, queue);
+            this.name = logger.getName();
+        }
+
+    }
+
+    private final boolean weak;
+    // values are loggers or references to loggers if the registry is weak
+    private final ConcurrentHashMap<String, Object> loggers = new ConcurrentHashMap<String, Object>();
+    private final AtomicReference<Logger> rootLogger = new AtomicReference<Logger>();
+    private final ReferenceQueue<Logger> queue = new ReferenceQueue<Logger>();
+
+    private final StripedCounter hitCount = new StripedCounter();
+    private final StripedCounter missCount = new StripedCounter();
+
+    /**
+     * Creates new {@link LoggerRegistry}.
+     *
+     * @param weak whether loggers should be held weakly.
+     */
+    public LoggerRegistry(boolean weak) {
+        this.weak = weak;
+    }
+
+    /**
+     * Checks if loggers are held weakly.
+     *
+     * @return true if loggers can be collected when they are not used.
+     */
+    public boolean isWeak() {
+        return weak;
+    }
+
+    /**
+     * Returns a registered logger.
+     *
+     * @param name the name of the logger.
+     * @return the logger or {@code null} if there is no such logger.
+     */
+    public Logger get(String name) {
+        Logger logger;
+        if (name == null) {
+            logger = rootLogger.get();
+        } else {
+            Object value = loggers.get(name);
+            logger = value == null || !weak ? (Logger) value : ((LoggerReference) value).get();
+        }
+
+        if (logger != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return logger;
+    }
+
+    /**
+     * Registers a logger if there is no logger with the same name.
+     *
+     * @param logger the logger.
+     * @return the logger that is registered after this call.
+     */
+    public Logger putIfAbsent(Logger logger) {
+        String name = logger.getName();
+        if (name == null) {
+            return rootLogger.compareAndSet(null, logger) ? logger : rootLogger.get();
+        }
+
+        if (!weak) {
+            Object oldValue = loggers.putIfAbsent(name, logger);
+            return oldValue == null ? logger : (Logger) oldValue;
+        }
+
+        expungeCollected();
+        LoggerReference reference = new LoggerReference(logger, queue);
+        while (true) {
+            LoggerReference oldReference = (LoggerReference) loggers.putIfAbsent(name, reference);
+            if (oldReference == null) {
+                return logger;
+            }
+            Logger oldLogger = oldReference.get();
+            if (oldLogger != null) {
+                return oldLogger;
+            }
+            if (loggers.replace(name, oldReference, reference)) {
+                return logger;
+            }
+        }
+    }
+
+    /**
+     * Returns all registered loggers that are not collected yet.
+     *
+     * @return the list of loggers.
+     */
+    public List<Logger> getLoggers() {
+        List<Logger> list = new ArrayList<Logger>();
+        Logger root = rootLogger.get();
+        if (root != null) {
+            list.add(root);
+        }
+        for (Object value : loggers.values()) {
+            Logger logger = weak ? ((LoggerReference) value).get() : (Logger) value;
+            if (logger != null) {
+                list.add(logger);
+            }
+        }
+        return list;
+    }
+
+    private void expungeCollected() {
+        LoggerReference reference;
+        while ((reference = (LoggerReference) queue.poll()) != null) {
+            loggers.remove(reference.name, reference);
+        }
+    }
+
+    /**
+     * Returns the number of lookups that found a registered logger.
+     *
+     * @return the number of hits.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of lookups that found no registered logger.
+     *
+     * @return the number of misses.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the number of registered loggers that are not collected yet.
+     *
+     * @return the number of live loggers.
+     */
+    public int getLoggerCount() {
+        if (weak) {
+            expungeCollected();
+        }
+        return loggers.size() + (rootLogger.get() == null ? 0 : 1);
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Prefix tree of logger names.
+ * <p/>
+ * Names are split into segments before each '.' and '$' character so
+ * a value put for a package or a class is found for all its sub-packages
+ * and nested classes. The separator is a part of the segment, so
+ * {@code com.example} matches {@code com.example.Main} and
+ * {@code com.example$Inner} but not {@code com.examples.Main}.
+ * <p/>
+ * The tree should be filled before it is shared between threads.
+ *
+ * @param <V> the type of values.
+ */
+final class NameTrie<V> {
+
+    private static final class Node<V> {
+        private Map<String, Node<V>> children;
+        private V value;
+    }
+
+    private final Node<V> root = new Node<V>();
+
+    // the first segment is the text before the first separator and can be empty,
+    // next segments start with a separator
+    private static int getSegmentEnd(String name, int start, boolean first) {
+        for (int i = first ? start : start + 1; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '.' || c == '$') {
+                return i;
+            }
+        }
+        return name.length();
+    }
+
+    /**
+     * Puts a value for the specified name.
+     *
+     * @param name  the name or {@code null} for the root.
+     * @param value the value.
+     */
+    public void put(String name, V value) {
+        Node<V> node = root;
+        if (name != null) {
+            int start = 0;
+            boolean first = true;
+            do {
+                int end = getSegmentEnd(name, start, first);
+                String segment = name.substring(start, end);
+                if (node.children == null) {
+                    node.children = new HashMap<String, Node<V>>();
+                }
+                Node<V> child = node.children.get(segment);
+                if (child == null) {
+                    child = new Node<V>();
+                    node.children.put(segment, child);
+                }
+                node = child;
+                start = end;
+                first = false;
+            } while (start < name.length());
+        }
+        node.value = value;
+    }
+
+    /**
+     * Returns the value of the longest name that is the specified name
+     * or its parent package or class.
+     *
+     * @param name the name or {@code null} for the root.
+     * @return the found value or the value of the root if nothing is found.
+     */
+    public V find(String name) {
+        Node<V> node = root;
+        V value = root.value;
+        if (name != null) {
+            int start = 0;
+            boolean first = true;
+            do {
+                if (node.children == null) {
+                    break;
+                }
+                int end = getSegmentEnd(name, start, first);
+                node = node.children.get(name.substring(start, end));
+                if (node == null) {
+                    break;
+                }
+                if (node.value != null) {
+                    value = node.value;
+                }
+                start = end;
+                first = false;
+            } while (start < name.length());
+        }
+        return value;
+    }
+
+}
@@ -1,16 +1,17 @@
 package com.noveogroup.android.log;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.Map;
 
 /**
  * This class responsible for formatting messages for {@link PatternHandler}.
  */
 public abstract class Pattern {
 
+    private static final int CALLER_CACHE_SIZE = 256;
+    private static final int LOGGER_CACHE_SIZE = 1024;
+
     public static class PlainPattern extends Pattern {
 
         private final String string;
@@ -21,29 +22,45 @@ public abstract class Pattern {
         }
 
         @Override
-        protected String doApply(StackTraceElement caller, String loggerName, Logger.Level level) {
-            return string;
+        protected void doApply(StringBuilder builder, StackTraceElement caller, String loggerName, Logger.Level level) {
+            builder.append(string);
+        }
+
+        @Override
+        void appendSource(StringBuilder builder) {
+            appendConstructor(builder, "PlainPattern");
+            builder.append(", ");
+            Utils.appendLiteral(builder, string);
+            builder.append(')');
         }
 
     }
 
     public static class DatePattern extends Pattern {
 
-        private final SimpleDateFormat dateFormat;
+        private final TimestampFormat timestampFormat;
 
         public DatePattern(int count, int length, String dateFormat) {
             super(count, length);
-            if (dateFormat != null) {
-                this.dateFormat = new SimpleDateFormat(dateFormat);
-            } else {
-                this.dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-            }
+            this.timestampFormat = new TimestampFormat(dateFormat);
+        }
+
+        @Override
+        protected void doApply(StringBuilder builder, StackTraceElement caller, String loggerName, Logger.Level level) {
+            timestampFormat.format(builder, LogEvent.getTime());
+        }
 
+        @Override
+        void appendSource(StringBuilder builder) {
+            appendConstructor(builder, "DatePattern");
+            builder.append(", ");
+            Utils.appendLiteral(builder, timestampFormat.getFormat());
+            builder.append(')');
         }
 
         @Override
-        protected String doApply(StackTraceElement caller, String loggerName, Logger.Level level) {
-            return dateFormat.format(new Date());
+        protected boolean isCacheable() {
+            return false;
         }
 
     }
@@ -55,8 +72,14 @@ public abstract class Pattern {
         }
 
         @Override
-        protected String doApply(StackTraceElement caller, String loggerName, Logger.Level level) {
-            return level.toString();
+        protected void doApply(StringBuilder builder, StackTraceElement caller, String loggerName, Logger.Level level) {
+            builder.append(level.name());
+        }
+
+        @Override
+        void appendSource(StringBuilder builder) {
+            appendConstructor(builder, "LevelPattern");
+            builder.append(')');
         }
     }
 
@@ -65,6 +88,8 @@ public abstract class Pattern {
 
         private int loggerCount;
         private int loggerLength;
+        private final BoundedCache<String, String> cache =
+                new BoundedCache<String, String>(LOGGER_CACHE_SIZE);
 
         public LoggerPattern(int count, int length, int loggerCount, int loggerLength) {
             super(count, length);
@@ -73,8 +98,22 @@ public abstract class Pattern {
         }
 
         @Override
-        protected String doApply(StackTraceElement caller, String loggerName, Logger.Level level) {
-            return Utils.shortenClassName(loggerName, loggerCount, loggerLength);
+        protected void doApply(StringBuilder builder, StackTraceElement caller, String loggerName, Logger.Level level) {
+            if (loggerName == null || (loggerCount == 0 && loggerLength == 0)) {
+                builder.append(loggerName);
+            } else {
+                String shortName = cache.get(loggerName);
+                if (shortName == null) {
+                    shortName = cache.put(loggerName, Utils.shortenClassName(loggerName, loggerCount, loggerLength));
+                }
+                builder.append(shortName);
+            }
+        }
+
+        @Override
+        void appendSource(StringBuilder builder) {
+            appendConstructor(builder, "LoggerPattern");
+            builder.append(", ").append(loggerCount).append(", ").append(loggerLength).append(')');
         }
     }
 
@@ -82,6 +121,8 @@ public abstract class Pattern {
 
         private int callerCount;
         private int callerLength;
+        private final BoundedCache<StackTraceElement, String> cache =
+                new BoundedCache<StackTraceElement, String>(CALLER_CACHE_SIZE);
 
         public CallerPattern(int count, int length, int callerCount, int callerLength) {
             super(count, length);
@@ -90,59 +131,91 @@ public abstract class Pattern {
         }
 
         @Override
-        protected String doApply(StackTraceElement caller, String loggerName, Logger.Level level) {
+        protected void doApply(StringBuilder builder, StackTraceElement caller, String loggerName, Logger.Level level) {
             if (caller == null) {
                 throw new IllegalArgumentException("Caller not found");
             } else {
-                String callerString;
-                if (caller.getLineNumber() < 0) {
-                    callerString = String.format("%s#%s", caller.getClassName(), caller.getMethodName());
-                } else {
-                    callerString = String.format("%s#%s:%d", caller.getClassName(), caller.getMethodName(), caller.getLineNumber());
+                String callerString = cache.get(caller);
+                if (callerString == null) {
+                    StringBuilder callerBuilder = new StringBuilder();
+                    callerBuilder.append(caller.getClassName()).append('#').append(caller.getMethodName());
+                    if (caller.getLineNumber() >= 0) {
+                        callerBuilder.append(':').append(caller.getLineNumber());
+                    }
+                    callerString = Utils.shortenClassName(callerBuilder.toString(), callerCount, callerLength);
+                    callerString = cache.put(caller, callerString);
                 }
-                return Utils.shortenClassName(callerString, callerCount, callerLength);
+                builder.append(callerString);
             }
         }
 
+        @Override
+        void appendSource(StringBuilder builder) {
+            appendConstructor(builder, "CallerPattern");
+            builder.append(", ").append(callerCount).append(", ").append(callerLength).append(')');
+        }
+
         @Override
         protected boolean isCallerNeeded() {
             return true;
         }
+
+        @Override
+        protected boolean isCacheable() {
+            return false;
+        }
     }
 
     public static class SourcePattern extends Pattern {
 
+        private final BoundedCache<StackTraceElement, String> cache =
+                new BoundedCache<StackTraceElement, String>(CALLER_CACHE_SIZE);
+
         public SourcePattern(int count, int length) {
             super(count, length);
         }
 
         @Override
-        protected String doApply(StackTraceElement caller, String loggerName, Logger.Level level) {
+        protected void doApply(StringBuilder builder, StackTraceElement caller, String loggerName, Logger.Level level) {
             if (caller == null) {
                 throw new IllegalArgumentException("Caller not found");
             } else {
-                StringBuilder builder = new StringBuilder();
-                if (caller.isNativeMethod()) {
-                    builder.append("(native)");
-                } else {
-                    if (caller.getFileName() == null) {
-                        builder.append("(unknown)");
+                String sourceString = cache.get(caller);
+                if (sourceString == null) {
+                    if (caller.isNativeMethod()) {
+                        sourceString = "(native)";
                     } else {
-                        if (caller.getLineNumber() >= 0) {
-                            builder.append(String.format("(%s:%d)", caller.getFileName(), caller.getLineNumber()));
+                        if (caller.getFileName() == null) {
+                            sourceString = "(unknown)";
                         } else {
-                            builder.append(String.format("(%s)", caller.getFileName()));
+                            if (caller.getLineNumber() >= 0) {
+                                sourceString = "(" + caller.getFileName() + ":" + caller.getLineNumber() + ")";
+                            } else {
+                                sourceString = "(" + caller.getFileName() + ")";
+                            }
                         }
                     }
+                    sourceString = cache.put(caller, sourceString);
                 }
-                return builder.toString();
+                builder.append(sourceString);
             }
         }
 
+        @Override
+        void appendSource(StringBuilder builder) {
+            appendConstructor(builder, "SourcePattern");
+            builder.append(')');
+        }
+
         @Override
         protected boolean isCallerNeeded() {
             return true;
         }
+
+        @Override
+        protected boolean isCacheable() {
+            return false;
+        }
     }
 
     public static class ConcatenatePattern extends Pattern {
@@ -158,13 +231,28 @@ public abstract class Pattern {
             patternList.add(pattern);
         }
 
+        List<Pattern> getPatterns() {
+            return patternList;
+        }
+
         @Override
-        protected String doApply(StackTraceElement caller, String loggerName, Logger.Level level) {
-            StringBuilder builder = new StringBuilder();
-            for (Pattern pattern : patternList) {
-                builder.append(pattern.apply(caller, loggerName, level));
+        protected void doApply(StringBuilder builder, StackTraceElement caller, String loggerName, Logger.Level level) {
+            for (int i = 0, size = patternList.size(); i < size; i++) {
+                patternList.get(i).apply(builder, caller, loggerName, level);
+            }
+        }
+
+        @Override
+        void appendSource(StringBuilder builder) {
+            appendConstructor(builder, "ConcatenatePattern");
+            builder.append(", java.util.Arrays.<").append(Pattern.class.getName()).append(">asList(");
+            for (int i = 0, size = patternList.size(); i < size; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                patternList.get(i).appendSource(builder);
             }
-            return builder.toString();
+            builder.append("))");
         }
 
         @Override
@@ -176,6 +264,16 @@ public abstract class Pattern {
             }
             return false;
         }
+
+        @Override
+        protected boolean isCacheable() {
+            for (Pattern pattern : patternList) {
+                if (!pattern.isCacheable()) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 
     public static class ThreadNamePattern extends Pattern {
@@ -184,8 +282,62 @@ public abstract class Pattern {
         }
 
         @Override
-        protected String doApply(StackTraceElement caller, String loggerName, Logger.Level level) {
-            return Thread.currentThread().getName();
+        protected void doApply(StringBuilder builder, StackTraceElement caller, String loggerName, Logger.Level level) {
+            builder.append(LogEvent.getThreadName());
+        }
+
+        @Override
+        void appendSource(StringBuilder builder) {
+            appendConstructor(builder, "ThreadNamePattern");
+            builder.append(')');
+        }
+
+        @Override
+        protected boolean isCacheable() {
+            return false;
+        }
+    }
+
+    public static class ContextPattern extends Pattern {
+
+        private final String key;
+
+        public ContextPattern(int count, int length, String key) {
+            super(count, length);
+            this.key = key;
+        }
+
+        @Override
+        protected void doApply(StringBuilder builder, StackTraceElement caller, String loggerName, Logger.Level level) {
+            Map<String, String> context = LogEvent.getContext();
+            if (key != null) {
+                String value = context.get(key);
+                if (value != null) {
+                    builder.append(value);
+                }
+            } else {
+                boolean first = true;
+                for (Map.Entry<String, String> entry : context.entrySet()) {
+                    if (!first) {
+                        builder.append(", ");
+                    }
+                    builder.append(entry.getKey()).append('=').append(entry.getValue());
+                    first = false;
+                }
+            }
+        }
+
+        @Override
+        void appendSource(StringBuilder builder) {
+            appendConstructor(builder, "ContextPattern");
+            builder.append(", ");
+            Utils.appendLiteral(builder, key);
+            builder.append(')');
+        }
+
+        @Override
+        protected boolean isCacheable() {
+            return false;
         }
     }
 
@@ -197,64 +349,128 @@ public abstract class Pattern {
         this.length = length;
     }
 
+    /**
+     * Formats a logging event according to this pattern.
+     *
+     * @param caller     the caller stack trace element or {@code null}.
+     * @param loggerName the name of the logger.
+     * @param level      the level of the message.
+     * @return the formatted string.
+     */
     public final String apply(StackTraceElement caller, String loggerName, Logger.Level level) {
-        String string = doApply(caller, loggerName, level);
-        return Utils.shorten(string, count, length);
+        StringBuilder builder = new StringBuilder();
+        apply(builder, caller, loggerName, level);
+        return builder.toString();
+    }
+
+    /**
+     * Formats a logging event according to this pattern and appends
+     * the result to the specified builder.
+     * <p/>
+     * Format modifiers are applied only to the appended part so the builder
+     * can be reused to render several patterns without extra copies.
+     *
+     * @param builder    the builder to append the formatted string to.
+     * @param caller     the caller stack trace element or {@code null}.
+     * @param loggerName the name of the logger.
+     * @param level      the level of the message.
+     */
+    public final void apply(StringBuilder builder, StackTraceElement caller, String loggerName, Logger.Level level) {
+        int start = builder.length();
+        doApply(builder, caller, loggerName, level);
+        Utils.shorten(builder, start, count, length);
     }
 
-    protected abstract String doApply(StackTraceElement caller, String loggerName, Logger.Level level);
+    protected abstract void doApply(StringBuilder builder, StackTraceElement caller, String loggerName, Logger.Level level);
+
+    /**
+     * Appends a Java expression creating a copy of this pattern.
+     * It is used by {@link ConfigurationCompiler} to generate
+     * compiled configurations and as a key of shared patterns.
+     *
+     * @param builder the builder to append the expression to.
+     */
+    abstract void appendSource(StringBuilder builder);
+
+    final void appendConstructor(StringBuilder builder, String className) {
+        builder.append("new ").append(Pattern.class.getName()).append('.').append(className)
+                .append('(').append(count).append(", ").append(length);
+    }
 
     protected boolean isCallerNeeded() {
         return false;
     }
 
+    /**
+     * Checks if the result of this pattern depends only on the logger name
+     * and the level, so it can be computed once and reused for next events.
+     *
+     * @return true if the formatted string can be cached.
+     */
+    protected boolean isCacheable() {
+        return true;
+    }
+
+    private static final BoundedCache<String, Pattern> COMPILED_PATTERNS =
+            new BoundedCache<String, Pattern>(1024);
+    private static final BoundedCache<String, Pattern> LEAF_PATTERNS =
+            new BoundedCache<String, Pattern>(1024);
+
+    /**
+     * Returns a shared instance of the pattern equal to the specified one.
+     * Patterns are equal if they are created with the same parameters, so
+     * caches of shortened names are shared between compiled patterns.
+     *
+     * @param pattern the pattern without nested patterns.
+     * @return the shared pattern.
+     */
+    static Pattern intern(Pattern pattern) {
+        StringBuilder builder = new StringBuilder();
+        pattern.appendSource(builder);
+        String key = builder.toString();
+        Pattern sharedPattern = LEAF_PATTERNS.get(key);
+        return sharedPattern != null ? sharedPattern : LEAF_PATTERNS.put(key, pattern);
+    }
+
+    /**
+     * Compiles the pattern string.
+     * <p/>
+     * Compiled patterns are cached and shared between all callers
+     * compiling the same string, so they should not be modified.
+     * If the string cannot be parsed it is logged as an error and
+     * the pattern printing the string as is will be returned.
+     *
+     * @param pattern the pattern string.
+     * @return the compiled pattern or {@code null} if the string is {@code null}.
+     */
     public static Pattern compile(String pattern) {
-        try {
-            return pattern == null ? null : new Compiler().compile(pattern);
-        } catch (Exception e) {
-            LoggerManager.getLogger(Logger.ROOT_LOGGER_NAME)
-                    .e(e, "cannot parse pattern: '%s'", pattern);
-            return new PlainPattern(0, 0, pattern);
+        if (pattern == null) {
+            return null;
         }
 
+        Pattern compiledPattern = COMPILED_PATTERNS.get(pattern);
+        if (compiledPattern == null) {
+            try {
+                compiledPattern = new Compiler().compile(pattern);
+            } catch (Exception e) {
+                LoggerManager.getLogger(Logger.ROOT_LOGGER_NAME)
+                        .e(e, "cannot parse pattern: '%s'", pattern);
+                compiledPattern = new PlainPattern(0, 0, pattern);
+            }
+            compiledPattern = COMPILED_PATTERNS.put(pattern, compiledPattern);
+        }
+        return compiledPattern;
     }
 
+    /**
+     * Single-pass compiler of pattern strings.
+     */
     public static class Compiler {
 
         private String patternString;
         private int position;
         private List<ConcatenatePattern> queue;
-
-        private final java.util.regex.Pattern PERCENT_PATTERN =
-                java.util.regex.Pattern.compile("%%");
-        private final java.util.regex.Pattern NEWLINE_PATTERN =
-                java.util.regex.Pattern.compile("%n");
-        private final java.util.regex.Pattern LEVEL_PATTERN =
-                java.util.regex.Pattern.compile("%([+-]?\\d+)?(\\.([+-]?\\d+))?level");
-        private final java.util.regex.Pattern LOGGER_PATTERN =
-                java.util.regex.Pattern.compile("%([+-]?\\d+)?(\\.([+-]?\\d+))?logger(\\{([+-]?\\d+)?(\\.([+-]?\\d+))?\\})?");
-        private final java.util.regex.Pattern CALLER_PATTERN =
-                java.util.regex.Pattern.compile("%([+-]?\\d+)?(\\.([+-]?\\d+))?caller(\\{([+-]?\\d+)?(\\.([+-]?\\d+))?\\})?");
-        private final java.util.regex.Pattern SOURCE_PATTERN =
-                java.util.regex.Pattern.compile("%([+-]?\\d+)?(\\.([+-]?\\d+))?source");
-        private final java.util.regex.Pattern DATE_PATTERN =
-                java.util.regex.Pattern.compile("%date(\\{(.*?)\\})?");
-        private final java.util.regex.Pattern CONCATENATE_PATTERN =
-                java.util.regex.Pattern.compile("%([+-]?\\d+)?(\\.([+-]?\\d+))?\\(");
-        private final java.util.regex.Pattern DATE_PATTERN_SHORT =
-                java.util.regex.Pattern.compile("%d(\\{(.*?)\\})?");
-        private final java.util.regex.Pattern LEVEL_PATTERN_SHORT =
-                java.util.regex.Pattern.compile("%([+-]?\\d+)?(\\.([+-]?\\d+))?p");
-        private final java.util.regex.Pattern LOGGER_PATTERN_SHORT =
-                java.util.regex.Pattern.compile("%([+-]?\\d+)?(\\.([+-]?\\d+))?c(\\{([+-]?\\d+)?(\\.([+-]?\\d+))?\\})?");
-        private final java.util.regex.Pattern CALLER_PATTERN_SHORT =
-                java.util.regex.Pattern.compile("%([+-]?\\d+)?(\\.([+-]?\\d+))?C(\\{([+-]?\\d+)?(\\.([+-]?\\d+))?\\})?");
-        private final java.util.regex.Pattern SOURCE_PATTERN_SHORT =
-                java.util.regex.Pattern.compile("%([+-]?\\d+)?(\\.([+-]?\\d+))?s");
-        private final java.util.regex.Pattern THREAD_NAME_PATTERN =
-                java.util.regex.Pattern.compile("%([+-]?\\d+)?(\\.([+-]?\\d+))?thread");
-        private final java.util.regex.Pattern THREAD_NAME_PATTERN_SHORT =
-                java.util.regex.Pattern.compile("%([+-]?\\d+)?(\\.([+-]?\\d+))?t");
+        private StringBuilder plainText;
 
         public Pattern compile(String string) {
             if (string == null) {
@@ -264,102 +480,181 @@ public abstract class Pattern {
             this.position = 0;
             this.patternString = string;
             this.queue = new ArrayList<ConcatenatePattern>();
+            this.plainText = new StringBuilder();
             queue.add(new ConcatenatePattern(0, 0, new ArrayList<Pattern>()));
 
-            while (string.length() > position) {
-
-                int index = string.indexOf("%", position);
-                int bracketIndex = string.indexOf(")", position);
-                if (queue.size() > 1 && bracketIndex < index) {
-                    queue.get(queue.size() - 1).addPattern(new PlainPattern(0, 0, string.substring(position, bracketIndex)));
-                    queue.get(queue.size() - 2).addPattern(queue.remove(queue.size() - 1));
-                    position = bracketIndex + 1;
-                }
-                if (index == -1) {
-                    queue.get(queue.size() - 1).addPattern(new PlainPattern(0, 0, string.substring(position)));
-                    break;
-                } else {
-                    queue.get(queue.size() - 1).addPattern(new PlainPattern(0, 0, string.substring(position, index)));
-                    position = index;
+            while (position < string.length()) {
+                char c = string.charAt(position);
+                if (c == '%') {
+                    position++;
                     parse();
+                } else if (c == ')' && queue.size() > 1) {
+                    position++;
+                    addPattern(null);
+                    ConcatenatePattern group = queue.remove(queue.size() - 1);
+                    queue.get(queue.size() - 1).addPattern(group);
+                } else {
+                    plainText.append(c);
+                    position++;
                 }
             }
 
+            if (queue.size() > 1) {
+                throw new IllegalArgumentException("group is not closed");
+            }
+            addPattern(null);
             return queue.get(0);
         }
 
+        private void addPattern(Pattern pattern) {
+            if (plainText.length() > 0) {
+                queue.get(queue.size() - 1).addPattern(intern(new PlainPattern(0, 0, plainText.toString())));
+                plainText.setLength(0);
+            }
+            if (pattern != null) {
+                queue.get(queue.size() - 1).addPattern(intern(pattern));
+            }
+        }
+
         private void parse() {
-            Matcher matcher;
-            if ((matcher = findPattern(PERCENT_PATTERN)) != null) {
-                queue.get(queue.size() - 1).addPattern(new PlainPattern(0, 0, "%"));
-                position = matcher.end();
+            if (consume("%")) {
+                plainText.append('%');
                 return;
             }
-            if ((matcher = findPattern(NEWLINE_PATTERN)) != null) {
-                queue.get(queue.size() - 1).addPattern(new PlainPattern(0, 0, "\n"));
-                position = matcher.end();
+            if (consume("n")) {
+                plainText.append('\n');
                 return;
             }
-            if ((matcher = findPattern(LEVEL_PATTERN)) != null || (matcher = findPattern(LEVEL_PATTERN_SHORT)) != null) {
-                int count = Integer.parseInt(matcher.group(1) == null ? "0" : matcher.group(1));
-                int length = Integer.parseInt(matcher.group(3) == null ? "0" : matcher.group(3));
-                queue.get(queue.size() - 1).addPattern(new LevelPattern(count, length));
-                position = matcher.end();
-                return;
+
+            // format modifiers
+            int count = 0;
+            int length = 0;
+            if (isNumberAhead()) {
+                count = parseNumber();
             }
-            // the order is important because short logger pattern may match long caller occurrence
-            if ((matcher = findPattern(CALLER_PATTERN)) != null || (matcher = findPattern(CALLER_PATTERN_SHORT)) != null) {
-                int count = Integer.parseInt(matcher.group(1) == null ? "0" : matcher.group(1));
-                int length = Integer.parseInt(matcher.group(3) == null ? "0" : matcher.group(3));
-                int countCaller = Integer.parseInt(matcher.group(5) == null ? "0" : matcher.group(5));
-                int lengthCaller = Integer.parseInt(matcher.group(7) == null ? "0" : matcher.group(7));
-                queue.get(queue.size() - 1).addPattern(new CallerPattern(count, length, countCaller, lengthCaller));
-                position = matcher.end();
-                return;
+            if (position + 1 < patternString.length() && patternString.charAt(position) == '.') {
+                position++;
+                if (!isNumberAhead()) {
+                    throw new IllegalArgumentException("length expected at " + position);
+                }
+                length = parseNumber();
             }
-            if ((matcher = findPattern(SOURCE_PATTERN)) != null || (matcher = findPattern(SOURCE_PATTERN_SHORT)) != null) {
-                int count = Integer.parseInt(matcher.group(1) == null ? "0" : matcher.group(1));
-                int length = Integer.parseInt(matcher.group(3) == null ? "0" : matcher.group(3));
-                queue.get(queue.size() - 1).addPattern(new SourcePattern(count, length));
-                position = matcher.end();
-                return;
+
+            // the order is important because short logger name is a prefix of long caller name
+            if (consume("level") || consume("p")) {
+                addPattern(new LevelPattern(count, length));
+            } else if (consume("caller") || consume("C")) {
+                int[] parameters = parseParameters();
+                addPattern(new CallerPattern(count, length, parameters[0], parameters[1]));
+            } else if (consume("logger") || consume("c")) {
+                int[] parameters = parseParameters();
+                addPattern(new LoggerPattern(count, length, parameters[0], parameters[1]));
+            } else if (consume("source") || consume("s")) {
+                addPattern(new SourcePattern(count, length));
+            } else if (consume("thread") || consume("t")) {
+                addPattern(new ThreadNamePattern(count, length));
+            } else if (consume("mdc") || consume("X")) {
+                String key = null;
+                if (position < patternString.length() && patternString.charAt(position) == '{') {
+                    int end = patternString.indexOf('}', position);
+                    if (end >= 0) {
+                        key = patternString.substring(position + 1, end);
+                        position = end + 1;
+                    }
+                }
+                addPattern(new ContextPattern(count, length, key));
+            } else if (consume("date") || consume("d")) {
+                String dateFormat = null;
+                if (position < patternString.length() && patternString.charAt(position) == '{') {
+                    int end = patternString.indexOf('}', position);
+                    if (end >= 0) {
+                        dateFormat = patternString.substring(position + 1, end);
+                        position = end + 1;
+                    }
+                }
+                addPattern(new DatePattern(count, length, dateFormat));
+            } else if (consume("(")) {
+                addPattern(null);
+                queue.add(new ConcatenatePattern(count, length, new ArrayList<Pattern>()));
+            } else {
+                throw new IllegalArgumentException("unknown conversion at " + position);
             }
-            if ((matcher = findPattern(LOGGER_PATTERN)) != null || (matcher = findPattern(LOGGER_PATTERN_SHORT)) != null) {
-                int count = Integer.parseInt(matcher.group(1) == null ? "0" : matcher.group(1));
-                int length = Integer.parseInt(matcher.group(3) == null ? "0" : matcher.group(3));
-                int countLogger = Integer.parseInt(matcher.group(5) == null ? "0" : matcher.group(5));
-                int lengthLogger = Integer.parseInt(matcher.group(7) == null ? "0" : matcher.group(7));
-                queue.get(queue.size() - 1).addPattern(new LoggerPattern(count, length, countLogger, lengthLogger));
-                position = matcher.end();
-                return;
+        }
+
+        private boolean consume(String word) {
+            if (patternString.startsWith(word, position)) {
+                position += word.length();
+                return true;
+            } else {
+                return false;
             }
-            if ((matcher = findPattern(DATE_PATTERN)) != null || (matcher = findPattern(DATE_PATTERN_SHORT)) != null) {
-                String dateFormat = matcher.group(2);
-                queue.get(queue.size() - 1).addPattern(new DatePattern(0, 0, dateFormat));
-                position = matcher.end();
-                return;
+        }
+
+        private boolean isNumberAhead() {
+            int index = position;
+            if (index < patternString.length()
+                    && (patternString.charAt(index) == '+' || patternString.charAt(index) == '-')) {
+                index++;
             }
-            if ((matcher = findPattern(THREAD_NAME_PATTERN)) != null || (matcher = findPattern(THREAD_NAME_PATTERN_SHORT)) != null) {
-                int count = Integer.parseInt(matcher.group(1) == null ? "0" : matcher.group(1));
-                int length = Integer.parseInt(matcher.group(3) == null ? "0" : matcher.group(3));
-                queue.get(queue.size() - 1).addPattern(new ThreadNamePattern(count, length));
-                position = matcher.end();
-                return;
+            return index < patternString.length() && isDigit(patternString.charAt(index));
+        }
+
+        // only ASCII digits are allowed because the value is computed as c - '0'
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private int parseNumber() {
+            boolean negative = false;
+            char sign = patternString.charAt(position);
+            if (sign == '+' || sign == '-') {
+                negative = sign == '-';
+                position++;
             }
-            if ((matcher = findPattern(CONCATENATE_PATTERN)) != null) {
-                int count = Integer.parseInt(matcher.group(1) == null ? "0" : matcher.group(1));
-                int length = Integer.parseInt(matcher.group(3) == null ? "0" : matcher.group(3));
-                queue.add(new ConcatenatePattern(count, length, new ArrayList<Pattern>()));
-                position = matcher.end();
-                return;
+
+            long value = 0;
+            while (position < patternString.length() && isDigit(patternString.charAt(position))) {
+                value = value * 10 + (patternString.charAt(position) - '0');
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw new IllegalArgumentException("number is too big at " + position);
+                }
+                position++;
             }
 
-            throw new IllegalArgumentException();
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("number is too big at " + position);
+            }
+            return (int) value;
         }
 
-        private Matcher findPattern(java.util.regex.Pattern pattern) {
-            Matcher matcher = pattern.matcher(patternString);
-            return matcher.find(position) && matcher.start() == position ? matcher : null;
+        // parses optional {count.length} parameters of %logger and %caller
+        private int[] parseParameters() {
+            int[] parameters = new int[2];
+            if (position < patternString.length() && patternString.charAt(position) == '{') {
+                int start = position;
+                position++;
+                if (isNumberAhead()) {
+                    parameters[0] = parseNumber();
+                }
+                if (position < patternString.length() && patternString.charAt(position) == '.') {
+                    position++;
+                    if (isNumberAhead()) {
+                        parameters[1] = parseNumber();
+                    } else {
+                        position = start;
+                        return new int[2];
+                    }
+                }
+                if (position < patternString.length() && patternString.charAt(position) == '}') {
+                    position++;
+                } else {
+                    // not a parameter block, so it will be printed as a plain text
+                    position = start;
+                    return new int[2];
+                }
+            }
+            return parameters;
         }
 
     }
@@ -29,6 +29,7 @@ package com.noveogroup.android.log;
 import android.util.Log;
 
 import java.text.SimpleDateFormat;
+import java.util.EnumMap;
 import java.util.Formatter;
 
 /**
@@ -219,6 +220,11 @@ import java.util.Formatter;
  * <td>Prints a name of the thread which causes the logging event.</td>
  * </tr>
  * <tr>
+ * <td>%X{key} %mdc{key}</td>
+ * <td>Prints a value of the {@link DiagnosticContext diagnostic context}
+ * or the whole context if the key is not specified.</td>
+ * </tr>
+ * <tr>
  * <td>%(...)</td>
  * <td>Special mark used to grouping parts of message. Format modifiers
  * (if specified) are applied on whole group. Examples:
@@ -260,6 +266,66 @@ public class PatternHandler implements Handler {
     private final String messagePattern;
     private final Pattern compiledTagPattern;
     private final Pattern compiledMessagePattern;
+    private final EnumMap<Logger.Level, BoundedCache<String, String>> tagCache;
+    private final EnumMap<Logger.Level, BoundedCache<String, String>> messageCache;
+    private final boolean callerNeeded;
+    private final String continuationMarker;
+    private final int continuationMarkerBytes;
+
+    private static final int MAX_BUFFER_CAPACITY = 4096;
+    private static final int RENDER_CACHE_SIZE = 1024;
+    // logcat entry payload is limited by 4068 bytes including the tag and the priority
+    private static final int MAX_PAYLOAD_BYTES = 4000;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = new ThreadLocal<StringBuilder>();
+
+    private static StringBuilder obtainBuffer() {
+        StringBuilder buffer = BUFFER.get();
+        if (buffer == null) {
+            return new StringBuilder(256);
+        } else {
+            // detach the buffer until it is released to keep reentrant calls safe
+            BUFFER.set(null);
+            buffer.setLength(0);
+            return buffer;
+        }
+    }
+
+    private static void releaseBuffer(StringBuilder buffer) {
+        // do not keep huge buffers after printing of long messages
+        if (buffer.capacity() <= MAX_BUFFER_CAPACITY) {
+            BUFFER.set(buffer);
+        }
+    }
+
+    // creates a per-level cache of formatted strings or null if the pattern depends on the event
+    private static EnumMap<Logger.Level, BoundedCache<String, String>> createCache(Pattern pattern) {
+        if (pattern == null || !pattern.isCacheable()) {
+            return null;
+        }
+
+        EnumMap<Logger.Level, BoundedCache<String, String>> cache =
+                new EnumMap<Logger.Level, BoundedCache<String, String>>(Logger.Level.class);
+        for (Logger.Level level : Logger.Level.values()) {
+            cache.put(level, new BoundedCache<String, String>(RENDER_CACHE_SIZE));
+        }
+        return cache;
+    }
+
+    private static String getCached(EnumMap<Logger.Level, BoundedCache<String, String>> cache,
+                                    String loggerName, Logger.Level level) {
+        if (cache == null || loggerName == null) {
+            return null;
+        }
+        return cache.get(level).get(loggerName);
+    }
+
+    private static void putCached(EnumMap<Logger.Level, BoundedCache<String, String>> cache,
+                                  String loggerName, Logger.Level level, String value) {
+        if (cache != null && loggerName != null) {
+            cache.get(level).put(loggerName, value);
+        }
+    }
 
     /**
      * Creates new {@link PatternHandler}.
@@ -269,11 +335,57 @@ public class PatternHandler implements Handler {
      * @param messagePattern the message pattern.
      */
     public PatternHandler(Logger.Level level, String tagPattern, String messagePattern) {
+        this(level, tagPattern, messagePattern, null);
+    }
+
+    /**
+     * Creates new {@link PatternHandler}.
+     *
+     * @param level              the level.
+     * @param tagPattern         the tag pattern.
+     * @param messagePattern     the message pattern.
+     * @param continuationMarker the prefix of continued parts of long messages
+     *                           or {@code null}.
+     * @throws IllegalArgumentException if the continuation marker is too long.
+     */
+    public PatternHandler(Logger.Level level, String tagPattern, String messagePattern, String continuationMarker) {
+        this(level, tagPattern, Pattern.compile(tagPattern),
+                messagePattern, Pattern.compile(messagePattern), continuationMarker);
+    }
+
+    /**
+     * Creates new {@link PatternHandler} using already compiled patterns.
+     * It is used by compiled configurations to skip parsing of the patterns.
+     *
+     * @param level                  the level.
+     * @param tagPattern             the tag pattern.
+     * @param compiledTagPattern     the compiled tag pattern.
+     * @param messagePattern         the message pattern.
+     * @param compiledMessagePattern the compiled message pattern.
+     * @param continuationMarker     the prefix of continued parts of long messages
+     *                               or {@code null}.
+     * @throws IllegalArgumentException if the continuation marker is too long.
+     * @see CompiledConfiguration
+     */
+    public PatternHandler(Logger.Level level,
+                          String tagPattern, Pattern compiledTagPattern,
+                          String messagePattern, Pattern compiledMessagePattern,
+                          String continuationMarker) {
+        // the marker should leave room for the message in continued parts
+        if (continuationMarker != null && continuationMarker.length() > LoggerManager.MAX_CONTINUATION_MARKER_LENGTH) {
+            throw new IllegalArgumentException("continuation marker is too long");
+        }
         this.level = level;
         this.tagPattern = tagPattern;
-        this.compiledTagPattern = Pattern.compile(tagPattern);
+        this.compiledTagPattern = compiledTagPattern;
         this.messagePattern = messagePattern;
-        this.compiledMessagePattern = Pattern.compile(messagePattern);
+        this.compiledMessagePattern = compiledMessagePattern;
+        this.tagCache = createCache(compiledTagPattern);
+        this.messageCache = createCache(compiledMessagePattern);
+        this.callerNeeded = (compiledTagPattern != null && compiledTagPattern.isCallerNeeded())
+                || (compiledMessagePattern != null && compiledMessagePattern.isCallerNeeded());
+        this.continuationMarker = continuationMarker == null || continuationMarker.length() == 0 ? null : continuationMarker;
+        this.continuationMarkerBytes = this.continuationMarker == null ? 0 : getByteCount(this.continuationMarker);
     }
 
     /**
@@ -303,6 +415,24 @@ public class PatternHandler implements Handler {
         return messagePattern;
     }
 
+    /**
+     * Returns the continuation marker.
+     *
+     * @return the prefix of continued parts of long messages or {@code null}.
+     */
+    public String getContinuationMarker() {
+        return continuationMarker;
+    }
+
+    /**
+     * Checks if the patterns of this handler print information about a caller.
+     *
+     * @return true if the caller is needed to print messages.
+     */
+    boolean isCallerNeeded() {
+        return callerNeeded;
+    }
+
     @Override
     public boolean isEnabled(Logger.Level level) {
         return this.level != null && level != null && this.level.includes(level);
@@ -318,30 +448,157 @@ public class PatternHandler implements Handler {
                 if (throwable == null) {
                     messageBody = "";
                 } else {
-                    messageBody = Log.getStackTraceString(throwable);
+                    messageBody = LogEvent.getStackTraceString(throwable);
                 }
             } else {
                 if (throwable == null) {
                     messageBody = message;
                 } else {
-                    messageBody = message + '\n' + Log.getStackTraceString(throwable);
+                    messageBody = message + '\n' + LogEvent.getStackTraceString(throwable);
                 }
             }
 
             StackTraceElement caller = null;
-            if ((compiledTagPattern != null && compiledTagPattern.isCallerNeeded())
-                    || (compiledMessagePattern != null && compiledMessagePattern.isCallerNeeded())) {
-                caller = Utils.getCaller();
+            if (callerNeeded) {
+                caller = LogEvent.getCaller();
+            }
+
+            StringBuilder buffer = obtainBuffer();
+
+            String tag = "";
+            if (compiledTagPattern != null) {
+                tag = getCached(tagCache, loggerName, level);
+                if (tag == null) {
+                    compiledTagPattern.apply(buffer, caller, loggerName, level);
+                    tag = buffer.toString();
+                    buffer.setLength(0);
+                    putCached(tagCache, loggerName, level, tag);
+                }
+            }
+
+            if (compiledMessagePattern != null) {
+                String head = getCached(messageCache, loggerName, level);
+                if (head != null) {
+                    buffer.append(head);
+                } else {
+                    compiledMessagePattern.apply(buffer, caller, loggerName, level);
+                    if (buffer.length() > 0 && !Character.isWhitespace(buffer.charAt(0))) {
+                        buffer.append(' ');
+                    }
+                    if (messageCache != null && loggerName != null) {
+                        putCached(messageCache, loggerName, level, buffer.toString());
+                    }
+                }
+            }
+            buffer.append(messageBody);
+
+            int maxBytes = MAX_PAYLOAD_BYTES - getByteCount(tag);
+            // each char takes at most 3 bytes in UTF-8
+            if (buffer.length() * 3 <= maxBytes) {
+                Log.println(level.intValue(), tag, buffer.toString());
+            } else {
+                printChunks(level, tag, buffer, maxBytes);
+            }
+            releaseBuffer(buffer);
+        }
+    }
+
+    private void printChunks(Logger.Level level, String tag, StringBuilder buffer, int maxBytes) {
+        int length = buffer.length();
+        int start = 0;
+        do {
+            String chunk;
+            if (start == 0 || continuationMarker == null) {
+                int end = findChunkEnd(buffer, start, maxBytes);
+                chunk = buffer.substring(start, end);
+                start = end;
+            } else {
+                int end = findChunkEnd(buffer, start, maxBytes - continuationMarkerBytes);
+                chunk = new StringBuilder(continuationMarker.length() + end - start)
+                        .append(continuationMarker).append(buffer, start, end).toString();
+                start = end;
+            }
+            Log.println(level.intValue(), tag, chunk);
+
+            // the line break between chunks is not printed
+            if (start < length && buffer.charAt(start) == '\n') {
+                start++;
+            }
+        } while (start < length);
+    }
+
+    /**
+     * Returns the length of the string encoded in UTF-8.
+     *
+     * @param text the string.
+     * @return the number of bytes.
+     */
+    static int getByteCount(CharSequence text) {
+        int count = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                count += 1;
+            } else if (c < 0x800) {
+                count += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                count += 4;
+                i++;
+            } else {
+                count += 3;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the end of a chunk of the text that fits the specified number
+     * of bytes in UTF-8. The chunk ends before the last line break that fits
+     * the limit. If there is no such line break the chunk is as long as
+     * possible. Surrogate pairs are never split and each chunk contains
+     * at least one character.
+     *
+     * @param text     the text.
+     * @param start    the index of the first character of the chunk.
+     * @param maxBytes the maximum length of the chunk in bytes.
+     * @return the index after the last character of the chunk.
+     */
+    static int findChunkEnd(CharSequence text, int start, int maxBytes) {
+        int length = text.length();
+        int count = 0;
+        int lineEnd = -1;
+        for (int i = start; i < length; i++) {
+            char c = text.charAt(i);
+            int size;
+            if (c < 0x80) {
+                size = 1;
+            } else if (c < 0x800) {
+                size = 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                size = 4;
+            } else {
+                size = 3;
             }
 
-            String tag = compiledTagPattern == null ? "" : compiledTagPattern.apply(caller, loggerName, level);
-            String messageHead = compiledMessagePattern == null ? "" : compiledMessagePattern.apply(caller, loggerName, level);
+            if (count + size > maxBytes) {
+                if (lineEnd > start) {
+                    return lineEnd;
+                } else if (i > start) {
+                    return i;
+                } else {
+                    return i + (size == 4 ? 2 : 1);
+                }
+            }
 
-            if (messageHead.length() > 0 && !Character.isWhitespace(messageHead.charAt(0))) {
-                messageHead = messageHead + " ";
+            if (c == '\n') {
+                lineEnd = i;
+            }
+            count += size;
+            if (size == 4) {
+                i++;
             }
-            Log.println(level.intValue(), tag, messageHead + messageBody);
         }
+        return length;
     }
 
     @Override
@@ -29,10 +29,46 @@ package com.noveogroup.android.log;
 /**
  * Simple implementation of {@link Logger} that prints all messages
  * using {@link Handler} interface.
+ * <p/>
+ * The set of levels enabled by the handler is computed once when
+ * the handler is set, so level checks don't call the handler.
+ * The handler should always return the same result for the same level.
  */
 public class SimpleLogger extends AbstractLogger {
 
-    private final Handler handler;
+    private static final int VERBOSE_MASK = 1 << Level.VERBOSE.ordinal();
+    private static final int DEBUG_MASK = 1 << Level.DEBUG.ordinal();
+    private static final int INFO_MASK = 1 << Level.INFO.ordinal();
+    private static final int WARN_MASK = 1 << Level.WARN.ordinal();
+    private static final int ERROR_MASK = 1 << Level.ERROR.ordinal();
+    private static final int ASSERT_MASK = 1 << Level.ASSERT.ordinal();
+
+    /**
+     * The handler and the levels it enables. They are replaced together,
+     * so a logger never uses the levels of one handler with another one.
+     */
+    private static final class State {
+
+        private final Handler handler;
+        // a bit is set for each level enabled by the handler
+        private final int enabledLevels;
+
+        public State(Handler handler) {
+            int enabledLevels = 0;
+            if (handler != null) {
+                for (Level level : Level.values()) {
+                    if (handler.isEnabled(level)) {
+                        enabledLevels |= 1 << level.ordinal();
+                    }
+                }
+            }
+            this.handler = handler;
+            this.enabledLevels = enabledLevels;
+        }
+
+    }
+
+    private volatile State state;
 
     /**
      * Creates new {@link SimpleLogger} instance.
@@ -42,16 +78,72 @@ public class SimpleLogger extends AbstractLogger {
      */
     public SimpleLogger(String name, Handler handler) {
         super(name);
-        this.handler = handler;
+        setHandler(handler);
+    }
+
+    /**
+     * Replaces the handler of this logger. Used when the logger manager
+     * is reconfigured.
+     *
+     * @param handler the new handler.
+     */
+    void setHandler(Handler handler) {
+        this.state = new State(handler);
+    }
+
+    /**
+     * Returns the current handler of this logger.
+     *
+     * @return the handler.
+     */
+    Handler getHandler() {
+        return state.handler;
     }
 
     @Override
     public boolean isEnabled(Level level) {
-        return handler != null && handler.isEnabled(level);
+        return level != null && (state.enabledLevels & (1 << level.ordinal())) != 0;
+    }
+
+    @Override
+    public boolean isVerboseEnabled() {
+        return (state.enabledLevels & VERBOSE_MASK) != 0;
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return (state.enabledLevels & DEBUG_MASK) != 0;
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return (state.enabledLevels & INFO_MASK) != 0;
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return (state.enabledLevels & WARN_MASK) != 0;
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return (state.enabledLevels & ERROR_MASK) != 0;
+    }
+
+    @Override
+    public boolean isAssertEnabled() {
+        return (state.enabledLevels & ASSERT_MASK) != 0;
+    }
+
+    // levels are enabled only if the handler is set
+    private Handler getHandler(Level level) {
+        State state = this.state;
+        return level != null && (state.enabledLevels & (1 << level.ordinal())) != 0 ? state.handler : null;
     }
 
     @Override
     public void print(Level level, Throwable throwable, String message) {
+        Handler handler = getHandler(level);
         if (handler != null) {
             handler.print(getName(), level, throwable, message);
         }
@@ -59,9 +151,18 @@ public class SimpleLogger extends AbstractLogger {
 
     @Override
     public void print(Level level, Throwable throwable, String messageFormat, Object... args) {
+        Handler handler = getHandler(level);
         if (handler != null) {
             handler.print(getName(), level, throwable, messageFormat, args);
         }
     }
 
+    @Override
+    public void print(Level level, Throwable throwable, MessageSupplier messageSupplier) {
+        Handler handler = getHandler(level);
+        if (handler != null) {
+            handler.print(getName(), level, throwable, messageSupplier == null ? null : messageSupplier.get());
+        }
+    }
+
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.noveogroup.android.log;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Thread-safe timestamp formatter used by {@link Pattern.DatePattern}.
+ * <p/>
+ * The formatter caches the text of the current second and only rewrites
+ * milliseconds for messages logged within the same second. Date formats
+ * with milliseconds that cannot be separated from the rest of the text
+ * (for example, "S" or "SSSSS") are formatted by {@link SimpleDateFormat}
+ * for each message.
+ */
+final class TimestampFormat {
+
+    /**
+     * The default date format.
+     */
+    public static final String DEFAULT_FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
+
+    private static final class Second {
+
+        private final long second;
+        private final String prefix;
+        private final String suffix;
+
+        private Second(long second, String prefix, String suffix) {
+            this.second = second;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+    }
+
+    private final String format;
+    private final String prefixFormat;
+    private final String suffixFormat;
+    private final boolean cacheable;
+    private final boolean millisecondsNeeded;
+
+    private final ThreadLocal<SimpleDateFormat[]> dateFormats = new ThreadLocal<SimpleDateFormat[]>() {
+        @Override
+        protected SimpleDateFormat[] initialValue() {
+            return new SimpleDateFormat[]{
+                    new SimpleDateFormat(prefixFormat),
+                    new SimpleDateFormat(suffixFormat)};
+        }
+    };
+
+    private volatile Second cachedSecond;
+
+    /**
+     * Creates new {@link TimestampFormat}.
+     *
+     * @param format the format supported by {@link SimpleDateFormat}
+     *               or {@code null} to use the default one.
+     * @throws IllegalArgumentException if the format is invalid.
+     */
+    public TimestampFormat(String format) {
+        this.format = format == null ? DEFAULT_FORMAT : format;
+
+        // validate the format
+        new SimpleDateFormat(this.format);
+
+        // find unquoted runs of millisecond letters
+        int millisecondsIndex = -1;
+        int millisecondsCount = 0;
+        int runs = 0;
+        boolean quoted = false;
+        for (int index = 0; index < this.format.length(); index++) {
+            char c = this.format.charAt(index);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && c == 'S') {
+                if (index == 0 || this.format.charAt(index - 1) != 'S') {
+                    millisecondsIndex = index;
+                    millisecondsCount = 0;
+                    runs++;
+                }
+                millisecondsCount++;
+            }
+        }
+
+        if (runs == 0) {
+            this.cacheable = true;
+            this.millisecondsNeeded = false;
+            this.prefixFormat = this.format;
+            this.suffixFormat = "";
+        } else if (runs == 1 && millisecondsCount == 3) {
+            this.cacheable = true;
+            this.millisecondsNeeded = true;
+            this.prefixFormat = this.format.substring(0, millisecondsIndex);
+            this.suffixFormat = this.format.substring(millisecondsIndex + millisecondsCount);
+        } else {
+            this.cacheable = false;
+            this.millisecondsNeeded = true;
+            this.prefixFormat = this.format;
+            this.suffixFormat = "";
+        }
+    }
+
+    /**
+     * Returns the format.
+     *
+     * @return the format.
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * Formats the specified time and appends result to the builder.
+     *
+     * @param builder the builder.
+     * @param time    the time in milliseconds.
+     */
+    public void format(StringBuilder builder, long time) {
+        if (!cacheable) {
+            builder.append(dateFormats.get()[0].format(new Date(time)));
+            return;
+        }
+
+        long second = time / 1000;
+        int milliseconds = (int) (time - second * 1000);
+        if (milliseconds < 0) {
+            second--;
+            milliseconds += 1000;
+        }
+
+        Second cached = cachedSecond;
+        if (cached == null || cached.second != second) {
+            SimpleDateFormat[] formats = dateFormats.get();
+            Date date = new Date(second * 1000);
+            cached = new Second(second, formats[0].format(date),
+                    millisecondsNeeded ? formats[1].format(date) : "");
+            cachedSecond = cached;
+        }
+
+        builder.append(cached.prefix);
+        if (millisecondsNeeded) {
+            builder.append((char) ('0' + milliseconds / 100))
+                    .append((char) ('0' + milliseconds / 10 % 10))
+                    .append((char) ('0' + milliseconds % 10));
+        }
+        builder.append(cached.suffix);
+    }
+
+}
@@ -32,71 +32,26 @@ public final class Utils {
         throw new UnsupportedOperationException();
     }
 
-    private static final String PACKAGE_NAME = Logger.class.getPackage().getName();
-
-    private static final class CallerResolver extends SecurityManager {
-        public Class<?> getCaller() {
-            Class[] classContext = getClassContext();
-            // sometimes class context is null (usually on new Android devices)
-            if (classContext == null || classContext.length <= 0) {
-                return null; // if class context is null or empty
-            }
-
-            boolean packageFound = false;
-            for (Class aClass : classContext) {
-                if (!packageFound) {
-                    if (aClass.getPackage().getName().startsWith(PACKAGE_NAME)) {
-                        packageFound = true;
-                    }
-                } else {
-                    if (!aClass.getPackage().getName().startsWith(PACKAGE_NAME)) {
-                        return aClass;
-                    }
-                }
-            }
-            return classContext[classContext.length - 1];
-        }
-    }
-
-    private static final CallerResolver CALLER_RESOLVER = new CallerResolver();
-
-    private static StackTraceElement getCallerStackTrace() {
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        if (stackTrace == null || stackTrace.length <= 0) {
-            return null; // if stack trace is null or empty
-        }
-
-        boolean packageFound = false;
-        for (StackTraceElement stackTraceElement : stackTrace) {
-            if (!packageFound) {
-                if (stackTraceElement.getClassName().startsWith(PACKAGE_NAME)) {
-                    packageFound = true;
-                }
-            } else {
-                if (!stackTraceElement.getClassName().startsWith(PACKAGE_NAME)) {
-                    return stackTraceElement;
-                }
-            }
-        }
-        return stackTrace[stackTrace.length - 1];
-    }
+    private static final CallerResolver CALLER_RESOLVER = CallerResolver.select();
 
     /**
      * Returns a name of a class that calls logging methods.
      * <p/>
      * Can be much faster than {@link #getCaller()} because
-     * this method tries to use {@link SecurityManager} to get
-     * caller context.
+     * this method uses the fastest way to inspect the stack
+     * supported by the runtime (such as {@code StackWalker} or
+     * {@link SecurityManager} class context). The way is chosen
+     * once when this class is loaded.
      *
      * @return the caller's name.
      */
     public static String getCallerClassName() {
-        Class<?> caller = CALLER_RESOLVER.getCaller();
-        if (caller == null) {
-            StackTraceElement callerStackTrace = getCallerStackTrace();
+        String className = CALLER_RESOLVER.getCallerClassName();
+        if (className == null) {
+            StackTraceElement callerStackTrace = CallerLookup.findCaller();
             return callerStackTrace == null ? null : callerStackTrace.getClassName();
         } else {
-            return caller.getName();
+            return className;
         }
     }
 
@@ -106,11 +61,40 @@ public final class Utils {
      * <p/>
      * This method compares names of the packages of stack trace elements
      * with the package of this library to find information about caller.
+     * Frames of wrapper classes added by {@link #addWrapper(String)}
+     * are skipped too.
      *
      * @return the caller stack trace element.
      */
     public static StackTraceElement getCaller() {
-        return getCallerStackTrace();
+        return CallerLookup.findCaller();
+    }
+
+    /**
+     * Sets the caller boundary of the current thread. While the boundary
+     * is set {@link #getCaller()} returns the frame that follows
+     * the frames of the boundary class, so only a few frames are inspected.
+     * <p/>
+     * Bridges from other logging APIs should set the boundary before
+     * calling a logger and restore the previous one afterwards.
+     *
+     * @param className the fully qualified name of the class called by
+     *                  the logging code or {@code null} to clear the boundary.
+     * @return the previous boundary.
+     */
+    public static String setCallerBoundary(String className) {
+        return CallerLookup.setBoundary(className);
+    }
+
+    /**
+     * Adds a wrapper class or package. Wrappers are skipped while looking
+     * for a caller so messages logged through a wrapper are attributed to
+     * the code that calls the wrapper.
+     *
+     * @param name the name of a class or a package.
+     */
+    public static void addWrapper(String name) {
+        CallerLookup.addWrapper(name);
     }
 
     /**
@@ -151,118 +135,185 @@ public final class Utils {
         return resultString;
     }
 
+    private static final String SPACES = "                                ";
+
+    /**
+     * Shortens a tail of the builder in place.
+     * <p/>
+     * Works the same way as {@link #shorten(String, int, int)} but modifies
+     * only the part of the builder starting at the specified index.
+     *
+     * @param builder the builder to modify.
+     * @param start   the index of the first character of the modified part.
+     * @param count   the desired minimum length of result.
+     * @param length  the desired maximum of string length.
+     */
+    public static void shorten(StringBuilder builder, int start, int count, int length) {
+        if (Math.abs(length) < builder.length() - start) {
+            if (length > 0)
+                builder.setLength(start + length);
+            if (length < 0)
+                builder.delete(start, builder.length() + length);
+        }
+
+        int padding = Math.abs(count) - (builder.length() - start);
+        while (padding > 0) {
+            int chunk = Math.min(padding, SPACES.length());
+            if (count > 0) {
+                builder.insert(start, SPACES, 0, chunk);
+            } else {
+                builder.append(SPACES, 0, chunk);
+            }
+            padding -= chunk;
+        }
+    }
+
     /**
      * Shortens class name till the specified length.
      * <p/>
      * Note that only packages can be shortened so this method returns at least simple class name.
+     * <p/>
+     * The method runs in linear time and allocates only the resulting string.
      *
      * @param className the class name.
      * @param maxLength the desired maximum length of result.
      * @param count the desired maximum count of packages
      * @return the shortened class name.
      */
-    // todo optimize it
     public static String shortenClassName(String className, int count, int maxLength) {
+        if (className == null) return null;
 
-        className = shortenPackagesName(className, count);
+        // select packages
+        int from = 0;
+        int to = className.length();
+        if (count > 0) {
+            int index = findDot(className, count);
+            if (index >= 0) {
+                to = index;
+            }
+        } else if (count < 0) {
+            int index = findDot(className, count == Integer.MIN_VALUE ? Integer.MAX_VALUE : -count);
+            from = index >= 0 ? index + 1 : className.lastIndexOf('.') + 1;
+        }
 
-        if (className == null) return null;
-        if (maxLength == 0) return className;
-        if (maxLength > className.length()) return className;
+        if (maxLength == 0 || maxLength > to - from) {
+            return substring(className, false, from, to, false);
+        }
 
         if (maxLength < 0) {
-            maxLength = - maxLength;
-            StringBuilder builder = new StringBuilder();
-            for (int index = className.length() - 1; index > 0; ) {
+            maxLength = -maxLength;
+            int start = to;
+            for (int index = to - 1; index >= from; ) {
                 int i = className.lastIndexOf('.', index);
-
-                if (i == -1) {
-                    if (builder.length() > 0
-                            && builder.length() + index + 1 > maxLength) {
-                        builder.insert(0, '*');
-                        break;
+                if (i < from) {
+                    if (start < to && to - from > maxLength) {
+                        return substring(className, true, start, to, false);
                     }
-
-                    builder.insert(0, className.substring(0, index + 1));
+                    start = from;
+                    break;
                 } else {
-                    if (builder.length() > 0
-                            && builder.length() + (index + 1 - i) + 1 > maxLength) {
-                        builder.insert(0, '*');
-                        break;
+                    if (start < to && (to - i) + 1 > maxLength) {
+                        return substring(className, true, start, to, false);
                     }
-
-                    builder.insert(0, className.substring(i, index + 1));
+                    start = i;
                 }
-
                 index = i - 1;
             }
-            return builder.toString();
+            return substring(className, false, start, to, false);
 
         } else {
-            StringBuilder builder = new StringBuilder();
-            for (int index = 0; index < className.length(); ) {
+            int end = -1;
+            for (int index = from; index < to; ) {
                 int i = className.indexOf('.', index);
 
-                if (i == -1) {
-                    if (builder.length() > 0) {
-                        builder.insert(builder.length(), '*');
-                        break;
+                if (i < 0 || i >= to) {
+                    if (end >= 0) {
+                        return substring(className, false, from, end, true);
                     }
-
-                    builder.insert(builder.length(), className.substring(index, className.length()));
+                    end = to;
                     break;
                 } else {
-                    if (builder.length() > 0
-                            && i + 1 > maxLength) {
-                        builder.insert(builder.length(), '*');
-                        break;
+                    if (end >= 0 && i + 1 - from > maxLength) {
+                        return substring(className, false, from, end, true);
                     }
-
-                    builder.insert(builder.length(), className.substring(index, i + 1));
+                    end = i + 1;
                 }
 
                 index = i + 1;
             }
+            return substring(className, false, from, end, false);
+        }
+    }
 
-            return builder.toString();
+    // returns an index of the dot ending the specified number of packages or -1
+    private static int findDot(String className, int count) {
+        int index = -1;
+        for (int i = 0; i < count; i++) {
+            index = className.indexOf('.', index + 1);
+            if (index < 0) {
+                return -1;
+            }
         }
+        return index;
     }
 
-    // todo optimize it
-    private static String shortenPackagesName(String className, int count) {
-        if (className == null) return null;
-        if (count == 0) return className;
+    private static String substring(String string, boolean starBefore, int from, int to, boolean starAfter) {
+        if (!starBefore && !starAfter) {
+            return from == 0 && to == string.length() ? string : string.substring(from, to);
+        }
 
-        StringBuilder builder = new StringBuilder();
-        if (count > 0) {
-            int points = 1;
-            for (int index = 0; index < className.length(); ) {
-                int i = className.indexOf('.', index);
+        int offset = starBefore ? 1 : 0;
+        char[] chars = new char[to - from + (starBefore ? 1 : 0) + (starAfter ? 1 : 0)];
+        string.getChars(from, to, chars, offset);
+        if (starBefore) {
+            chars[0] = '*';
+        }
+        if (starAfter) {
+            chars[chars.length - 1] = '*';
+        }
+        return new String(chars);
+    }
 
-                if (i == -1) {
-                    builder.insert(builder.length(), className.substring(index, className.length()));
-                    break;
+    /**
+     * Appends a Java literal of the string.
+     *
+     * @param builder the builder to append the literal to.
+     * @param string  the string or {@code null}.
+     */
+    static void appendLiteral(StringBuilder builder, String string) {
+        if (string == null) {
+            builder.append("null");
+            return;
+        }
 
-                } else {
-                    if (points == count) {
-                        builder.insert(builder.length(), className.substring(index, i));
-                        break;
+        builder.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
                     }
-                    builder.insert(builder.length(), className.substring(index, i + 1));
-                }
-                index = i + 1;
-                points++;
             }
-        } else if (count < 0) {
-            String exceptString = shortenPackagesName(className, -count);
-            if (className.equals(exceptString)) {
-                int from = className.lastIndexOf('.') + 1;
-                int to = className.length();
-                builder.insert(builder.length(), className.substring(from, to));
-            } else
-                return className.replaceFirst(exceptString + '.', "");
         }
-        return builder.toString();
+        builder.append('"');
     }
 
 }
@@ -27,15 +27,49 @@
 package org.slf4j.impl;
 
 import com.noveogroup.android.log.Logger;
+import com.noveogroup.android.log.Utils;
 
+import org.slf4j.Marker;
 import org.slf4j.helpers.MarkerIgnoringBase;
-import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.spi.LocationAwareLogger;
 
 /**
  * A wrapper over {@link com.noveogroup.android.log.Logger com.noveogroup.android.log.Logger}
  * in conforming to the {@link org.slf4j.Logger org.slf4j.Logger} interface.
+ * <p/>
+ * Messages are formatted only if their level is enabled.
+ * <p/>
+ * The adapter is location aware: the caller of a message is the frame
+ * that follows the frames of the class passed to
+ * {@link #log(Marker, String, int, String, Object[], Throwable)}
+ * or of this class when usual logging methods are used.
  */
-public class AndroidLoggerAdapter extends MarkerIgnoringBase {
+public class AndroidLoggerAdapter extends MarkerIgnoringBase implements LocationAwareLogger {
+
+    private static final String FQCN = AndroidLoggerAdapter.class.getName();
+
+    private static final int MAX_BUFFER_CAPACITY = 4096;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = new ThreadLocal<StringBuilder>();
+
+    private static StringBuilder obtainBuffer() {
+        StringBuilder buffer = BUFFER.get();
+        if (buffer == null) {
+            return new StringBuilder(256);
+        } else {
+            // detach the buffer until it is released to keep reentrant calls safe
+            BUFFER.set(null);
+            buffer.setLength(0);
+            return buffer;
+        }
+    }
+
+    private static void releaseBuffer(StringBuilder buffer) {
+        // do not keep huge buffers after formatting of long messages
+        if (buffer.capacity() <= MAX_BUFFER_CAPACITY) {
+            BUFFER.set(buffer);
+        }
+    }
 
     private final Logger logger;
 
@@ -48,28 +82,94 @@ public class AndroidLoggerAdapter extends MarkerIgnoringBase {
         this.logger = logger;
     }
 
+    /**
+     * Returns the underlying logger.
+     *
+     * @return the logger.
+     */
+    public Logger getLogger() {
+        return logger;
+    }
+
     private boolean isEnabled(Logger.Level level) {
         return logger.isEnabled(level);
     }
 
     private void log(Logger.Level level, String msg) {
-        logger.print(level, null, msg);
+        if (isEnabled(level)) {
+            print(FQCN, level, null, msg);
+        }
     }
 
     private void log(Logger.Level level, String format, Object arg) {
-        logger.print(level, null, MessageFormatter.format(format, arg).getMessage());
+        if (isEnabled(level)) {
+            print(FQCN, level, format, new Object[]{arg}, null);
+        }
     }
 
     private void log(Logger.Level level, String format, Object arg1, Object arg2) {
-        logger.print(level, null, MessageFormatter.format(format, arg1, arg2).getMessage());
+        if (isEnabled(level)) {
+            print(FQCN, level, format, new Object[]{arg1, arg2}, null);
+        }
     }
 
     private void log(Logger.Level level, String format, Object... arguments) {
-        logger.print(level, null, MessageFormatter.arrayFormat(format, arguments).getMessage());
+        if (isEnabled(level)) {
+            print(FQCN, level, format, arguments, null);
+        }
     }
 
     private void log(Logger.Level level, String msg, Throwable t) {
-        logger.print(level, t, msg);
+        if (isEnabled(level)) {
+            print(FQCN, level, t, msg);
+        }
+    }
+
+    private void print(String callerBoundary, Logger.Level level, String format, Object[] arguments, Throwable t) {
+        if (format == null) {
+            print(callerBoundary, level, t != null ? t : AndroidMessageFormatter.getThrowable(arguments, 0), null);
+            return;
+        }
+
+        StringBuilder buffer = obtainBuffer();
+        int used = AndroidMessageFormatter.format(buffer, format, arguments);
+        String message = buffer.toString();
+        releaseBuffer(buffer);
+        print(callerBoundary, level, t != null ? t : AndroidMessageFormatter.getThrowable(arguments, used), message);
+    }
+
+    private void print(String callerBoundary, Logger.Level level, Throwable t, String message) {
+        String previousBoundary = Utils.setCallerBoundary(callerBoundary);
+        try {
+            logger.print(level, t, message);
+        } finally {
+            Utils.setCallerBoundary(previousBoundary);
+        }
+    }
+
+    private static Logger.Level getLevel(int level) {
+        switch (level) {
+            case TRACE_INT:
+                return Logger.Level.VERBOSE;
+            case DEBUG_INT:
+                return Logger.Level.DEBUG;
+            case INFO_INT:
+                return Logger.Level.INFO;
+            case WARN_INT:
+                return Logger.Level.WARN;
+            case ERROR_INT:
+                return Logger.Level.ERROR;
+            default:
+                throw new IllegalArgumentException("unknown SLF4J level " + level);
+        }
+    }
+
+    @Override
+    public void log(Marker marker, String fqcn, int level, String message, Object[] argArray, Throwable t) {
+        Logger.Level loggerLevel = getLevel(level);
+        if (isEnabled(loggerLevel)) {
+            print(fqcn, loggerLevel, message, argArray, t);
+        }
     }
 
     @Override
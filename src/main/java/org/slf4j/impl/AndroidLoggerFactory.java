@@ -30,15 +30,85 @@ import com.noveogroup.android.log.LoggerManager;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.Logger;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Implementation of {@link org.slf4j.ILoggerFactory} returning
  * the appropriate named {@link AndroidLoggerAdapter} instance.
+ * <p/>
+ * Adapters are cached, so the same adapter is returned while its logger
+ * is used. Adapters are held the same way as {@link LoggerManager} holds
+ * loggers: strongly by default and weakly if loggers are held weakly,
+ * so the cache doesn't prevent collection of loggers. A cached adapter is
+ * replaced if the logger manager returns another logger for its name.
  */
 public class AndroidLoggerFactory implements ILoggerFactory {
 
+    private static final class AdapterReference extends WeakReference<AndroidLoggerAdapter> {
+
+        private final String name;
+
+        public AdapterReference(String name, AndroidLoggerAdapter adapter, ReferenceQueue<AndroidLoggerAdapter> queue) {
+            super(adapter, queue);
+            this.name = name;
+        }
+
+    }
+
+    private final boolean weak = LoggerManager.isWeakRetention();
+    // values are adapters or references to adapters if loggers are held weakly
+    private final ConcurrentHashMap<String, Object> adapters = new ConcurrentHashMap<String, Object>();
+    private volatile Object rootAdapter;
+    private final ReferenceQueue<AndroidLoggerAdapter> queue = new ReferenceQueue<AndroidLoggerAdapter>();
+
+    private AndroidLoggerAdapter getAdapter(Object value) {
+        return value == null || !weak ? (AndroidLoggerAdapter) value : ((AdapterReference) value).get();
+    }
+
     @Override
     public Logger getLogger(String name) {
-        return new AndroidLoggerAdapter(LoggerManager.getLogger(name));
+        com.noveogroup.android.log.Logger logger = LoggerManager.getLogger(name);
+
+        AndroidLoggerAdapter adapter = getAdapter(name == null ? rootAdapter : adapters.get(name));
+        if (adapter != null && adapter.getLogger() == logger) {
+            return adapter;
+        }
+
+        if (weak) {
+            expungeCollected();
+        }
+        adapter = new AndroidLoggerAdapter(logger);
+        Object newValue = weak ? new AdapterReference(name, adapter, queue) : adapter;
+        if (name == null) {
+            rootAdapter = newValue;
+            return adapter;
+        }
+
+        while (true) {
+            Object oldValue = adapters.putIfAbsent(name, newValue);
+            if (oldValue == null) {
+                return adapter;
+            }
+            // another thread could cache an adapter of the same logger
+            AndroidLoggerAdapter oldAdapter = getAdapter(oldValue);
+            if (oldAdapter != null && oldAdapter.getLogger() == logger) {
+                return oldAdapter;
+            }
+            if (adapters.replace(name, oldValue, newValue)) {
+                return adapter;
+            }
+        }
+    }
+
+    private void expungeCollected() {
+        AdapterReference reference;
+        while ((reference = (AdapterReference) queue.poll()) != null) {
+            if (reference.name != null) {
+                adapters.remove(reference.name, reference);
+            }
+        }
     }
 
 }
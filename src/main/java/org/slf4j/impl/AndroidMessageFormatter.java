@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.slf4j.impl;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Formatter of SLF4J messages.
+ * <p/>
+ * Replaces {@code {}} placeholders with the arguments the same way as
+ * {@link org.slf4j.helpers.MessageFormatter} but appends the result
+ * to the specified builder, so no intermediate objects are created.
+ */
+final class AndroidMessageFormatter {
+
+    private static final String PLACEHOLDER = "{}";
+    private static final char ESCAPE = '\\';
+
+    private AndroidMessageFormatter() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Formats the message pattern and appends the result to the builder.
+     * Placeholders can be escaped by a backslash. Extra arguments are
+     * ignored and placeholders without arguments are appended as is.
+     *
+     * @param builder   the builder to append the message to.
+     * @param pattern   the message pattern. Cannot be {@code null}.
+     * @param arguments the arguments or {@code null}.
+     * @return the number of arguments used by placeholders.
+     */
+    public static int format(StringBuilder builder, String pattern, Object[] arguments) {
+        int argumentCount = arguments == null ? 0 : arguments.length;
+        int start = 0;
+        int used = 0;
+        while (used < argumentCount) {
+            int index = pattern.indexOf(PLACEHOLDER, start);
+            if (index < 0) {
+                break;
+            }
+
+            if (index > 0 && pattern.charAt(index - 1) == ESCAPE) {
+                if (index > 1 && pattern.charAt(index - 2) == ESCAPE) {
+                    // the escape character is escaped itself
+                    builder.append(pattern, start, index - 1);
+                    appendArgument(builder, arguments[used++], null);
+                } else {
+                    builder.append(pattern, start, index - 1).append(PLACEHOLDER);
+                }
+            } else {
+                builder.append(pattern, start, index);
+                appendArgument(builder, arguments[used++], null);
+            }
+            start = index + PLACEHOLDER.length();
+        }
+        builder.append(pattern, start, pattern.length());
+        return used;
+    }
+
+    /**
+     * Returns the throwable passed as the last argument
+     * if it is not used by placeholders.
+     *
+     * @param arguments the arguments or {@code null}.
+     * @param used      the number of arguments used by placeholders.
+     * @return the throwable or {@code null}.
+     */
+    public static Throwable getThrowable(Object[] arguments, int used) {
+        if (arguments != null && used < arguments.length && arguments[arguments.length - 1] instanceof Throwable) {
+            return (Throwable) arguments[arguments.length - 1];
+        }
+        return null;
+    }
+
+    private static void appendArgument(StringBuilder builder, Object argument, Map<Object[], Object> visited) {
+        if (argument == null) {
+            builder.append("null");
+        } else if (!argument.getClass().isArray()) {
+            try {
+                builder.append(argument.toString());
+            } catch (Throwable ignored) {
+                builder.append("[FAILED toString()]");
+            }
+        } else if (argument instanceof Object[]) {
+            appendArray(builder, (Object[]) argument, visited);
+        } else if (argument instanceof boolean[]) {
+            builder.append(Arrays.toString((boolean[]) argument));
+        } else if (argument instanceof byte[]) {
+            builder.append(Arrays.toString((byte[]) argument));
+        } else if (argument instanceof char[]) {
+            builder.append(Arrays.toString((char[]) argument));
+        } else if (argument instanceof short[]) {
+            builder.append(Arrays.toString((short[]) argument));
+        } else if (argument instanceof int[]) {
+            builder.append(Arrays.toString((int[]) argument));
+        } else if (argument instanceof long[]) {
+            builder.append(Arrays.toString((long[]) argument));
+        } else if (argument instanceof float[]) {
+            builder.append(Arrays.toString((float[]) argument));
+        } else {
+            builder.append(Arrays.toString((double[]) argument));
+        }
+    }
+
+    private static void appendArray(StringBuilder builder, Object[] array, Map<Object[], Object> visited) {
+        if (visited == null) {
+            visited = new IdentityHashMap<Object[], Object>();
+        }
+        if (visited.containsKey(array)) {
+            builder.append("[...]");
+            return;
+        }
+
+        visited.put(array, null);
+        builder.append('[');
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            appendArgument(builder, array[i], visited);
+        }
+        builder.append(']');
+        visited.remove(array);
+    }
+
+}
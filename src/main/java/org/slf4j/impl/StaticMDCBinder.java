@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2013 Noveo Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * Except as contained in this notice, the name(s) of the above copyright holders
+ * shall not be used in advertising or otherwise to promote the sale, use or
+ * other dealings in this Software without prior written authorization.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.slf4j.impl;
+
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * The binding of {@link org.slf4j.MDC} class with an actual instance of
+ * {@link org.slf4j.spi.MDCAdapter} is performed using information returned by this class.
+ */
+public class StaticMDCBinder {
+
+    /**
+     * The singleton of this class.
+     */
+    public static final StaticMDCBinder SINGLETON = new StaticMDCBinder();
+
+    /**
+     * Return the singleton of this class.
+     *
+     * @return the StaticMDCBinder singleton
+     */
+    public static StaticMDCBinder getSingleton() {
+        return SINGLETON;
+    }
+
+    private final MDCAdapter mdcAdapter = new AndroidMDCAdapter();
+
+    private StaticMDCBinder() {
+    }
+
+    /**
+     * Returns the instance of {@link MDCAdapter}.
+     *
+     * @return the MDC adapter.
+     */
+    public MDCAdapter getMDCA() {
+        return mdcAdapter;
+    }
+
+    /**
+     * Returns the class name of the MDC adapter.
+     *
+     * @return the class name.
+     */
+    public String getMDCAdapterClassStr() {
+        return AndroidMDCAdapter.class.getName();
+    }
+
+}
@@ -0,0 +1,4 @@
+# The configuration generated by android-logger-compiler is loaded by name.
+-keep class com.noveogroup.android.log.generated.AndroidLoggerConfiguration {
+    public <init>();
+}
@@ -0,0 +1,53 @@
+package android.util;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+
+/**
+ * JVM stand-in for the Android {@code Log} class, so the library can report
+ * its own errors while tests run. Messages are not printed anywhere but
+ * can be recorded by tests checking the output of handlers.
+ */
+public final class Log {
+
+    public static final int VERBOSE = 2;
+    public static final int DEBUG = 3;
+    public static final int INFO = 4;
+    public static final int WARN = 5;
+    public static final int ERROR = 6;
+    public static final int ASSERT = 7;
+
+    private static List<String> records;
+
+    private Log() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static synchronized void record(List<String> records) {
+        Log.records = records;
+    }
+
+    public static synchronized int println(int priority, String tag, String msg) {
+        if (records != null) {
+            records.add(tag + ": " + msg);
+        }
+        return tag.length() + msg.length();
+    }
+
+    public static String getStackTraceString(Throwable tr) {
+        if (tr == null) {
+            return "";
+        }
+        StringWriter stringWriter = new StringWriter();
+        PrintWriter printWriter = new PrintWriter(stringWriter);
+        tr.printStackTrace(printWriter);
+        printWriter.flush();
+        return stringWriter.toString();
+    }
+
+    public static boolean isLoggable(String tag, int level) {
+        return true;
+    }
+
+}
@@ -119,5 +119,43 @@ public class PatternTest {
                 compiler.compile("%d{HH:mm:ss} %5level %60(%logger{30.30} %caller{-2.20}):%n").apply(caller, loggerName, level).substring(8));
     }
 
-}
+    @Test
+    public void compileGroupTest() {
+        Pattern.Compiler compiler = new Pattern.Compiler();
+
+        Assert.assertEquals("abc", compiler.compile("%(abc)").apply(caller, loggerName, level));
+        Assert.assertEquals("[DEBUG ]", compiler.compile("[%-6(%level)]").apply(caller, loggerName, level));
+        Assert.assertEquals("[  [DE]]", compiler.compile("[%6([%.2(%p)])]").apply(caller, loggerName, level));
+        Assert.assertEquals("(a)b)", compiler.compile("(a)b)").apply(caller, loggerName, level));
+        Assert.assertEquals("com.noveo.android{x}", compiler.compile("%logger{x}").apply(caller, loggerName, level));
+        Assert.assertEquals("com.noveo", compiler.compile("%+2logger{+2}").apply(caller, loggerName, level));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compileUnclosedGroupTest() {
+        new Pattern.Compiler().compile("%(abc");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compileUnknownConversionTest() {
+        new Pattern.Compiler().compile("abc%q");
+    }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void compileNonAsciiDigitTest() {
+        new Pattern.Compiler().compile("%\u0663level");
+    }
+
+    @Test
+    public void compileNonAsciiParameterTest() {
+        Assert.assertEquals("com.noveo.android{\u0663}",
+                new Pattern.Compiler().compile("%logger{\u0663}").apply(caller, loggerName, level));
+    }
+
+    @Test
+    public void compileCacheTest() {
+        Assert.assertSame(Pattern.compile("%d %caller{-2}"), Pattern.compile("%d %caller{-2}"));
+        Assert.assertNull(Pattern.compile(null));
+    }
+
+}
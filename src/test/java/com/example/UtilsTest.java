@@ -9,7 +9,7 @@ public class UtilsTest {
     @Test
     public void getCallerTest() {
         Assert.assertEquals(
-                "com.example.UtilsTest.getCallerTest(UtilsTest.java:11)",
+                "com.example.UtilsTest.getCallerTest(UtilsTest.java:13)",
                 Utils.getCaller().toString());
     }
 
@@ -20,4 +20,18 @@ public class UtilsTest {
                 Utils.getCallerClassName());
     }
 
+    private static class Wrapper {
+        static StackTraceElement getCaller() {
+            return Utils.getCaller();
+        }
+    }
+
+    @Test
+    public void getCallerWrapperTest() {
+        Utils.addWrapper(Wrapper.class.getName());
+        Assert.assertEquals(
+                "com.example.UtilsTest.getCallerWrapperTest(UtilsTest.java:34)",
+                Wrapper.getCaller().toString());
+    }
+
 }
@@ -0,0 +1,221 @@
+package com.noveogroup.android.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncHandlerTest {
+
+    private static class RecordingHandler implements Handler {
+
+        private final List<String> messages = new ArrayList<String>();
+        private final List<String> threads = new ArrayList<String>();
+        private final CountDownLatch startLatch;
+        private final CountDownLatch finishLatch;
+
+        public RecordingHandler(CountDownLatch startLatch, int count) {
+            this.startLatch = startLatch;
+            this.finishLatch = new CountDownLatch(count);
+        }
+
+        @Override
+        public boolean isEnabled(Logger.Level level) {
+            return level != Logger.Level.VERBOSE;
+        }
+
+        @Override
+        public void print(String loggerName, Logger.Level level, Throwable throwable, String message) {
+            if (isEnabled(level)) {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                synchronized (this) {
+                    messages.add(loggerName + ":" + level + ":" + message);
+                    threads.add(LogEvent.getThreadName());
+                }
+                finishLatch.countDown();
+            }
+        }
+
+        @Override
+        public void print(String loggerName, Logger.Level level, Throwable throwable, String messageFormat, Object... args) {
+            print(loggerName, level, throwable, String.format(messageFormat, args));
+        }
+
+        public synchronized List<String> getMessages() {
+            return new ArrayList<String>(messages);
+        }
+
+        public synchronized List<String> getThreads() {
+            return new ArrayList<String>(threads);
+        }
+
+        public void await() throws InterruptedException {
+            Assert.assertTrue(finishLatch.await(10, TimeUnit.SECONDS));
+        }
+
+    }
+
+    @Test
+    public void capacityTest() {
+        CountDownLatch latch = new CountDownLatch(0);
+        Assert.assertEquals(1, new AsyncHandler(new RecordingHandler(latch, 0), 1).getCapacity());
+        Assert.assertEquals(8, new AsyncHandler(new RecordingHandler(latch, 0), 5).getCapacity());
+        Assert.assertEquals(16, new AsyncHandler(new RecordingHandler(latch, 0), 16).getCapacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongCapacityTest() {
+        new AsyncHandler(new RecordingHandler(new CountDownLatch(0), 0), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void formatWithoutMessageTest() {
+        new AsyncHandler(new RecordingHandler(new CountDownLatch(0), 0)).print("name", Logger.Level.INFO, null, null, 1);
+    }
+
+    @Test
+    public void printTest() throws InterruptedException {
+        RecordingHandler recordingHandler = new RecordingHandler(new CountDownLatch(0), 3);
+        AsyncHandler handler = new AsyncHandler(recordingHandler, 4);
+
+        handler.print("name", Logger.Level.INFO, null, "first");
+        handler.print("name", Logger.Level.VERBOSE, null, "disabled");
+        handler.print("name", Logger.Level.WARN, null, "%s-%d", "second", 2);
+        handler.print(null, Logger.Level.ERROR, null, "third");
+        recordingHandler.await();
+
+        String threadName = Thread.currentThread().getName();
+        Assert.assertEquals("[name:INFO:first, name:WARN:second-2, null:ERROR:third]",
+                recordingHandler.getMessages().toString());
+        Assert.assertEquals("[" + threadName + ", " + threadName + ", " + threadName + "]",
+                recordingHandler.getThreads().toString());
+        Assert.assertEquals(0, handler.getDroppedCount());
+    }
+
+    @Test
+    public void concurrentPrintTest() throws InterruptedException {
+        final int threadCount = 4;
+        final int messageCount = 1000;
+        RecordingHandler recordingHandler = new RecordingHandler(new CountDownLatch(0), threadCount * messageCount);
+        final AsyncHandler handler = new AsyncHandler(recordingHandler, threadCount * messageCount);
+
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < messageCount; j++) {
+                        handler.print("name", Logger.Level.INFO, null, Thread.currentThread().getName() + "#" + j);
+                    }
+                }
+            }, "producer-" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        recordingHandler.await();
+
+        List<String> messages = recordingHandler.getMessages();
+        List<String> threadNames = recordingHandler.getThreads();
+        Assert.assertEquals(threadCount * messageCount, messages.size());
+        int[] next = new int[threadCount];
+        for (int i = 0; i < messages.size(); i++) {
+            String message = messages.get(i);
+            int producer = message.charAt("name:INFO:producer-".length()) - '0';
+            Assert.assertEquals("name:INFO:producer-" + producer + "#" + next[producer], message);
+            Assert.assertEquals("producer-" + producer, threadNames.get(i));
+            next[producer]++;
+        }
+    }
+
+    @Test
+    public void dropTest() throws InterruptedException {
+        CountDownLatch startLatch = new CountDownLatch(1);
+        RecordingHandler recordingHandler = new RecordingHandler(startLatch, 0);
+        AsyncHandler handler = new AsyncHandler(recordingHandler, 4);
+
+        // the first message blocks the consumer so the buffer is filled by the next 4 messages
+        handler.print("name", Logger.Level.INFO, null, "0");
+        long deadline = System.currentTimeMillis() + 10000;
+        while (handler.getDroppedCount() == 0 && System.currentTimeMillis() < deadline) {
+            handler.print("name", Logger.Level.INFO, null, "next");
+        }
+        long dropped = handler.getDroppedCount();
+        Assert.assertTrue(dropped > 0);
+
+        startLatch.countDown();
+
+        String warning = AsyncHandler.class.getName() + ":WARN:"
+                + dropped + " log messages were dropped because the queue was full";
+        while (!recordingHandler.getMessages().contains(warning) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        List<String> messages = recordingHandler.getMessages();
+        Assert.assertEquals("name:INFO:0", messages.get(0));
+        Assert.assertTrue(messages.contains(warning));
+    }
+
+    @Test
+    public void closeTest() throws InterruptedException {
+        RecordingHandler recordingHandler = new RecordingHandler(new CountDownLatch(0), 2);
+        AsyncHandler handler = new AsyncHandler(recordingHandler, 4);
+
+        handler.print("name", Logger.Level.INFO, null, "queued");
+        handler.close();
+        Assert.assertTrue(handler.isClosed());
+        handler.print("name", Logger.Level.INFO, null, "direct");
+        recordingHandler.await();
+
+        Assert.assertTrue(recordingHandler.getMessages().contains("name:INFO:queued"));
+        Assert.assertTrue(recordingHandler.getMessages().contains("name:INFO:direct"));
+    }
+
+    @Test
+    public void failingArgumentTest() throws InterruptedException {
+        RecordingHandler recordingHandler = new RecordingHandler(new CountDownLatch(0), 1);
+        AsyncHandler handler = new AsyncHandler(recordingHandler, 4);
+        Object failingArgument = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("toString() failed");
+            }
+        };
+
+        handler.print("name", Logger.Level.INFO, null, "%s", failingArgument);
+        handler.print("name", Logger.Level.INFO, null, "next");
+        recordingHandler.await();
+
+        Assert.assertEquals("[name:INFO:next]", recordingHandler.getMessages().toString());
+        Assert.assertEquals(0, handler.getDroppedCount());
+    }
+
+    @Test
+    public void idleConsumerTest() throws InterruptedException {
+        RecordingHandler recordingHandler = new RecordingHandler(new CountDownLatch(0), 1);
+        AsyncHandler handler = new AsyncHandler(recordingHandler, 4);
+        Thread consumer = handler.getConsumer();
+
+        // an idle consumer waits without a timeout
+        long deadline = System.currentTimeMillis() + 10000;
+        while (consumer.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(Thread.State.WAITING, consumer.getState());
+
+        handler.print("name", Logger.Level.INFO, null, "wake up");
+        recordingHandler.await();
+
+        handler.close();
+        consumer.join(10000);
+        Assert.assertFalse(consumer.isAlive());
+    }
+
+}
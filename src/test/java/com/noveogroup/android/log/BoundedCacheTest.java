@@ -0,0 +1,28 @@
+package com.noveogroup.android.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void putTest() {
+        BoundedCache<String, String> cache = new BoundedCache<String, String>(4);
+        Assert.assertEquals("value", cache.put("key", "value"));
+        Assert.assertEquals("value", cache.put("key", "other"));
+        Assert.assertEquals("value", cache.get("key"));
+        Assert.assertNull(cache.get("other"));
+    }
+
+    @Test
+    public void evictionTest() {
+        BoundedCache<Integer, String> cache = new BoundedCache<Integer, String>(4);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, Integer.toString(i));
+            // the new entry is kept and the cache is never cleared completely
+            Assert.assertEquals(Integer.toString(i), cache.get(i));
+            Assert.assertEquals(Math.min(i + 1, 4), cache.size());
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.noveogroup.android.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CallerResolverTest {
+
+    private static CallerResolver create(String className) {
+        try {
+            return (CallerResolver) Class.forName(className).newInstance();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    @Test
+    public void throwableTest() {
+        Assert.assertTrue(CallerResolver.isWorking(new CallerResolver.ThrowableResolver()));
+    }
+
+    @Test
+    public void availableResolversTest() {
+        String[] classNames = {
+                CallerResolver.StackWalkerResolver.class.getName(),
+                CallerResolver.SecurityManagerResolver.class.getName(),
+                CallerResolver.ReflectionResolver.class.getName(),
+        };
+        int count = 0;
+        for (String className : classNames) {
+            CallerResolver resolver = create(className);
+            if (resolver != null) {
+                Assert.assertTrue(resolver.getName(), CallerResolver.isWorking(resolver));
+                count++;
+            }
+        }
+        // at least one of the fast strategies works on any desktop JVM
+        Assert.assertTrue(count > 0);
+    }
+
+    @Test
+    public void selectTest() {
+        CallerResolver resolver = CallerResolver.select();
+        Assert.assertTrue(CallerResolver.isWorking(resolver));
+        Assert.assertFalse(resolver instanceof CallerResolver.ThrowableResolver);
+    }
+
+    // frames of this class belong to the library, so they are skipped
+    private static String deepCallerClassName(CallerResolver resolver, int depth) {
+        return depth > 0 ? deepCallerClassName(resolver, depth - 1) : resolver.getCallerClassName();
+    }
+
+    private static StackTraceElement deepCaller(int depth) {
+        return depth > 0 ? deepCaller(depth - 1) : CallerLookup.findCaller();
+    }
+
+    @Test
+    public void depthLimitTest() {
+        CallerResolver[] resolvers = {
+                new CallerResolver.ThrowableResolver(),
+                create(CallerResolver.StackWalkerResolver.class.getName()),
+        };
+        for (CallerResolver resolver : resolvers) {
+            if (resolver != null) {
+                Assert.assertNotNull(resolver.getName(), deepCallerClassName(resolver, 10));
+                // the last inspected frame is returned if the caller is too deep
+                Assert.assertEquals(resolver.getName(), CallerResolverTest.class.getName(),
+                        deepCallerClassName(resolver, CallerLookup.MAX_DEPTH));
+            }
+        }
+
+        StackTraceElement caller = deepCaller(CallerLookup.MAX_DEPTH);
+        Assert.assertNotNull(caller);
+        StringBuilder builder = new StringBuilder();
+        Pattern.compile("%caller %source").apply(builder, caller, "logger", Logger.Level.INFO);
+        Assert.assertTrue(builder.toString().startsWith(CallerResolverTest.class.getName()));
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.noveogroup.android.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CompositeHandlerTest {
+
+    private static class RecordingHandler implements Handler {
+
+        private final Logger.Level level;
+        private final List<String> messages = new ArrayList<String>();
+        private final List<Long> times = new ArrayList<Long>();
+
+        public RecordingHandler(Logger.Level level) {
+            this.level = level;
+        }
+
+        @Override
+        public boolean isEnabled(Logger.Level level) {
+            return this.level.includes(level);
+        }
+
+        @Override
+        public void print(String loggerName, Logger.Level level, Throwable throwable, String message) {
+            if (isEnabled(level)) {
+                messages.add(loggerName + ":" + level + ":" + message);
+                times.add(LogEvent.getTime());
+            }
+        }
+
+        @Override
+        public void print(String loggerName, Logger.Level level, Throwable throwable, String messageFormat, Object... args) {
+            Assert.fail("the message should be formatted by the composite handler");
+        }
+
+    }
+
+    private static class CountingArgument {
+
+        private int count = 0;
+
+        @Override
+        public String toString() {
+            return "argument-" + (++count);
+        }
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyTest() {
+        new CompositeHandler();
+    }
+
+    @Test
+    public void printTest() {
+        RecordingHandler debugHandler = new RecordingHandler(Logger.Level.DEBUG);
+        RecordingHandler warnHandler = new RecordingHandler(Logger.Level.WARN);
+        CompositeHandler handler = new CompositeHandler(debugHandler, warnHandler);
+
+        Assert.assertFalse(handler.isEnabled(Logger.Level.VERBOSE));
+        Assert.assertTrue(handler.isEnabled(Logger.Level.DEBUG));
+        // unknown handlers may ask for the caller
+        Assert.assertTrue(handler.isCallerNeeded());
+
+        CountingArgument argument = new CountingArgument();
+        handler.print("name", Logger.Level.VERBOSE, null, "%s", argument);
+        handler.print("name", Logger.Level.INFO, null, "%s", argument);
+        handler.print("name", Logger.Level.ERROR, null, "%s", argument);
+
+        Assert.assertEquals("[name:INFO:argument-1, name:ERROR:argument-2]", debugHandler.messages.toString());
+        Assert.assertEquals("[name:ERROR:argument-2]", warnHandler.messages.toString());
+        Assert.assertEquals(debugHandler.times.get(1), warnHandler.times.get(0));
+    }
+
+    @Test
+    public void failingHandlerTest() {
+        final IllegalStateException exception = new IllegalStateException("first");
+        Handler failingHandler = new RecordingHandler(Logger.Level.DEBUG) {
+            @Override
+            public void print(String loggerName, Logger.Level level, Throwable throwable, String message) {
+                throw exception;
+            }
+        };
+        Handler secondFailingHandler = new RecordingHandler(Logger.Level.DEBUG) {
+            @Override
+            public void print(String loggerName, Logger.Level level, Throwable throwable, String message) {
+                throw new IllegalStateException("second");
+            }
+        };
+        RecordingHandler recordingHandler = new RecordingHandler(Logger.Level.DEBUG);
+        CompositeHandler handler = new CompositeHandler(failingHandler, secondFailingHandler, recordingHandler);
+
+        try {
+            handler.print("name", Logger.Level.INFO, null, "message");
+            Assert.fail("the exception should be rethrown");
+        } catch (IllegalStateException e) {
+            Assert.assertSame(exception, e);
+        }
+        Assert.assertEquals("[name:INFO:message]", recordingHandler.messages.toString());
+    }
+
+    @Test
+    public void callerNeededTest() {
+        Handler plainHandler = new PatternHandler(Logger.Level.DEBUG, "tag", "%level");
+        Handler callerHandler = new PatternHandler(Logger.Level.WARN, "tag", "%caller");
+        Assert.assertFalse(new CompositeHandler(plainHandler, plainHandler).isCallerNeeded());
+        Assert.assertTrue(new CompositeHandler(plainHandler, callerHandler).isCallerNeeded());
+        Assert.assertTrue(LogEvent.isCallerNeeded(new CompositeHandler(plainHandler, callerHandler)));
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.noveogroup.android.log;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Properties;
+
+public class ConfigurationCompilerTest {
+
+    private static Class<?> compile(String className, String source) throws Exception {
+        JavaCompiler javaCompiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeNotNull(javaCompiler);
+
+        File directory = File.createTempFile("compiled-configuration", "");
+        Assert.assertTrue(directory.delete() && directory.mkdirs());
+        File file = new File(directory, className.replace('.', File.separatorChar) + ".java");
+        Assert.assertTrue(file.getParentFile().mkdirs());
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(source.getBytes("UTF-8"));
+        } finally {
+            outputStream.close();
+        }
+
+        String classPath = new File(Pattern.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        int result = javaCompiler.run(null, null, null,
+                "-encoding", "UTF-8", "-classpath", classPath, "-d", directory.getPath(), file.getPath());
+        Assert.assertEquals(source, 0, result);
+
+        ClassLoader classLoader = new URLClassLoader(new URL[]{directory.toURI().toURL()}, Pattern.class.getClassLoader());
+        return classLoader.loadClass(className);
+    }
+
+    private static Properties properties(String... keyValues) {
+        Properties properties = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return properties;
+    }
+
+    @Test
+    public void patternSourceTest() throws Exception {
+        String[] patterns = {"", "TAG", "%logger{-1.5}", "%caller{1}:%source", "[%10(%p %c)]%n%%",
+                "%-20.5(%thread) %d{HH:mm:ss} %level", "\"quoted\\\" \u00e9t\u00e9\t"};
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("package test;\n");
+        builder.append("public class Patterns {\n");
+        builder.append("    public static com.noveogroup.android.log.Pattern[] get() {\n");
+        builder.append("        return new com.noveogroup.android.log.Pattern[]{\n");
+        for (String pattern : patterns) {
+            builder.append("            ");
+            new Pattern.Compiler().compile(pattern).appendSource(builder);
+            builder.append(",\n");
+        }
+        builder.append("        };\n");
+        builder.append("    }\n");
+        builder.append("}\n");
+
+        Pattern[] compiledPatterns = (Pattern[]) compile("test.Patterns", builder.toString()).getMethod("get").invoke(null);
+        StackTraceElement caller = new StackTraceElement("com.example.Main", "run", "Main.java", 42);
+        for (int i = 0; i < patterns.length; i++) {
+            Pattern pattern = new Pattern.Compiler().compile(patterns[i]);
+            Assert.assertEquals(patterns[i], pattern.isCacheable(), compiledPatterns[i].isCacheable());
+            Assert.assertEquals(patterns[i], pattern.isCallerNeeded(), compiledPatterns[i].isCallerNeeded());
+            if (!patterns[i].contains("%d")) {
+                Assert.assertEquals(patterns[i],
+                        pattern.apply(caller, "com.example.Main", Logger.Level.INFO),
+                        compiledPatterns[i].apply(caller, "com.example.Main", Logger.Level.INFO));
+            }
+        }
+    }
+
+    @Test
+    public void generateTest() throws Exception {
+        ConfigurationCompiler compiler = new ConfigurationCompiler(properties(
+                "root", "INFO:%logger{-1}:%d %caller%n",
+                "logger.com.example", "DEBUG:Example",
+                "logger.com.example#file", "VERBOSE:ExampleFile:%caller",
+                "logger.com.example.server", "WARN:ExampleServerWithVeryLongTag:%level: ",
+                "async.com.example.server", "16",
+                "async.root", "false",
+                "wrappers", "com.example.LogHelper, com.example.log",
+                "continuation", "...",
+                "retention", "weak"));
+        Assert.assertEquals("[]", compiler.getErrors().toString());
+        Assert.assertEquals(1, compiler.getWarnings().size());
+
+        CompiledConfiguration configuration = (CompiledConfiguration)
+                compile(CompiledConfiguration.CLASS_NAME, compiler.generateSource()).newInstance();
+        Assert.assertTrue(configuration.isWeakRetention());
+        Assert.assertArrayEquals(new String[]{"com.example.LogHelper", "com.example.log"}, configuration.getWrappers());
+        Assert.assertArrayEquals(new String[]{null, "com.example", "com.example.server"}, configuration.getLoggerNames());
+        Assert.assertEquals(Logger.Level.INFO, configuration.getLevel(0));
+        Assert.assertEquals(Logger.Level.VERBOSE, configuration.getLevel(1));
+        Assert.assertEquals(Logger.Level.WARN, configuration.getLevel(2));
+
+        PatternHandler root = (PatternHandler) configuration.createHandler(0);
+        Assert.assertEquals(Logger.Level.INFO, root.getLevel());
+        Assert.assertEquals("%logger{-1}", root.getTagPattern());
+        Assert.assertEquals("%d %caller%n", root.getMessagePattern());
+        Assert.assertEquals("...", root.getContinuationMarker());
+        Assert.assertTrue(root.isCallerNeeded());
+
+        List<Handler> exampleHandlers = ((CompositeHandler) configuration.createHandler(1)).getHandlers();
+        PatternHandler example = (PatternHandler) exampleHandlers.get(0);
+        Assert.assertEquals(Logger.Level.DEBUG, example.getLevel());
+        Assert.assertEquals("Example", example.getTagPattern());
+        Assert.assertNull(example.getMessagePattern());
+        Assert.assertFalse(example.isCallerNeeded());
+        Assert.assertEquals("ExampleFile", ((PatternHandler) exampleHandlers.get(1)).getTagPattern());
+
+        AsyncHandler server = (AsyncHandler) configuration.createHandler(2);
+        Assert.assertEquals(16, server.getCapacity());
+        Assert.assertEquals("ExampleServerWithVeryLo", ((PatternHandler) server.getHandler()).getTagPattern());
+        server.close();
+
+        try {
+            configuration.createHandler(3);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+    }
+
+    @Test
+    public void defaultRootTest() throws Exception {
+        ConfigurationCompiler compiler = new ConfigurationCompiler(properties("logger.com.example", "DEBUG:Example"));
+        Assert.assertTrue(compiler.getErrors().isEmpty());
+        Assert.assertTrue(compiler.generateSource().contains("LOGGER_NAMES = {\"com.example\"}"));
+
+        compiler = new ConfigurationCompiler(properties("async.root", "true"));
+        Assert.assertTrue(compiler.getErrors().isEmpty());
+        Assert.assertTrue(compiler.generateSource().contains("LOGGER_NAMES = {null}"));
+    }
+
+    @Test
+    public void sharedHandlersTest() throws Exception {
+        ConfigurationCompiler compiler = new ConfigurationCompiler(properties(
+                "logger.a", "DEBUG:tag:%logger{-1} %level",
+                "logger.b", "DEBUG:tag:%logger{-1} %level",
+                "logger.c", "INFO:tag:[%logger{-1}]"));
+        CompiledConfiguration configuration = (CompiledConfiguration)
+                compile(CompiledConfiguration.CLASS_NAME, compiler.generateSource()).newInstance();
+        Assert.assertArrayEquals(new String[]{"a", "b", "c"}, configuration.getLoggerNames());
+        Assert.assertSame(configuration.createHandler(0), configuration.createHandler(1));
+        Assert.assertNotSame(configuration.createHandler(0), configuration.createHandler(2));
+        // "tag", its group, "%logger{-1}", " ", "%level", "[", "]" and two message groups are declared once
+        Assert.assertEquals(9, compiler.generateSource().split("private static final com.noveogroup.android.log.Pattern").length - 1);
+    }
+
+    @Test
+    public void errorsTest() {
+        ConfigurationCompiler compiler = new ConfigurationCompiler(properties(
+                "root", "INFO",
+                "logger.a", "LOUD:TAG",
+                "logger.b", "INFO:TAG:%(unclosed",
+                "async.c", "true",
+                "async.a", "-1",
+                "retention", "soft",
+                "unknown", "value"));
+        Assert.assertEquals(compiler.getErrors().toString(), 7, compiler.getErrors().size());
+        try {
+            compiler.generateSource();
+            Assert.fail();
+        } catch (IllegalStateException ignored) {
+        }
+
+        Assert.assertEquals(1, new ConfigurationCompiler(new Properties()).getErrors().size());
+    }
+
+    @Test
+    public void longContinuationMarkerTest() throws Exception {
+        StringBuilder marker = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            marker.append('\u20ac');
+        }
+        ConfigurationCompiler compiler = new ConfigurationCompiler(properties(
+                "root", "INFO:tag",
+                "continuation", marker.toString()));
+        Assert.assertEquals("[]", compiler.getErrors().toString());
+        Assert.assertEquals(1, compiler.getWarnings().size());
+
+        CompiledConfiguration configuration = (CompiledConfiguration)
+                compile(CompiledConfiguration.CLASS_NAME, compiler.generateSource()).newInstance();
+        PatternHandler root = (PatternHandler) configuration.createHandler(0);
+        Assert.assertEquals(marker.substring(0, LoggerManager.MAX_CONTINUATION_MARKER_LENGTH), root.getContinuationMarker());
+    }
+
+}
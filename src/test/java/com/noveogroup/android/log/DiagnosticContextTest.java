@@ -0,0 +1,73 @@
+package com.noveogroup.android.log;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class DiagnosticContextTest {
+
+    @After
+    public void tearDown() {
+        DiagnosticContext.clear();
+    }
+
+    @Test
+    public void copyOnWriteTest() {
+        DiagnosticContext.put("request", "1");
+        Map<String, String> snapshot = DiagnosticContext.getContext();
+        DiagnosticContext.put("session", "2");
+        DiagnosticContext.remove("request");
+
+        Assert.assertEquals(Collections.singletonMap("request", "1"), snapshot);
+        Assert.assertEquals(Collections.singletonMap("session", "2"), DiagnosticContext.getContext());
+        Assert.assertNull(DiagnosticContext.get("request"));
+        Assert.assertEquals("2", DiagnosticContext.get("session"));
+
+        DiagnosticContext.clear();
+        Assert.assertTrue(DiagnosticContext.getContext().isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void unmodifiableTest() {
+        DiagnosticContext.put("request", "1");
+        DiagnosticContext.getContext().put("request", "2");
+    }
+
+    @Test
+    public void patternTest() {
+        DiagnosticContext.put("request", "1");
+        Assert.assertEquals("[1] [] [request=1]", Pattern.compile("[%X{request}] [%mdc{session}] [%X]").apply(null, "name", Logger.Level.INFO));
+        Assert.assertEquals("[    1]", Pattern.compile("[%5X{request}]").apply(null, "name", Logger.Level.INFO));
+    }
+
+    @Test
+    public void snapshotTest() {
+        DiagnosticContext.put("request", "1");
+        LogEvent event = new LogEvent();
+        event.capture("name", Logger.Level.INFO, null, "message", null, false, false);
+        DiagnosticContext.put("request", "2");
+
+        final StringBuilder builder = new StringBuilder();
+        event.replay(new Handler() {
+            @Override
+            public boolean isEnabled(Logger.Level level) {
+                return true;
+            }
+
+            @Override
+            public void print(String loggerName, Logger.Level level, Throwable throwable, String message) {
+                Pattern.compile("%X{request}").apply(builder, null, loggerName, level);
+            }
+
+            @Override
+            public void print(String loggerName, Logger.Level level, Throwable throwable, String messageFormat, Object... args) {
+                Assert.fail();
+            }
+        });
+        Assert.assertEquals("1", builder.toString());
+    }
+
+}
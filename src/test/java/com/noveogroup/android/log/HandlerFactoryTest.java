@@ -0,0 +1,55 @@
+package com.noveogroup.android.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HandlerFactoryTest {
+
+    private static class CountingFactory extends HandlerFactory {
+
+        private int count = 0;
+
+        public CountingFactory(Logger.Level level) {
+            super(level);
+        }
+
+        @Override
+        protected Handler createHandler() {
+            count++;
+            return new AsyncHandler(new PatternHandler(getLevel(), "tag", null));
+        }
+
+    }
+
+    @Test
+    public void lazyTest() {
+        CountingFactory factory = new CountingFactory(Logger.Level.INFO);
+        Assert.assertFalse(factory.isEnabled(Logger.Level.DEBUG));
+        Assert.assertTrue(factory.isEnabled(Logger.Level.WARN));
+        Assert.assertEquals(0, factory.count);
+
+        Handler handler = factory.getHandler();
+        Assert.assertSame(handler, factory.getHandler());
+        Assert.assertEquals(1, factory.count);
+
+        factory.close();
+        Assert.assertTrue(((AsyncHandler) handler).isClosed());
+    }
+
+    @Test
+    public void closeBeforeCreationTest() {
+        CountingFactory factory = new CountingFactory(Logger.Level.INFO);
+        factory.close();
+        Assert.assertTrue(((AsyncHandler) factory.getHandler()).isClosed());
+    }
+
+    @Test
+    public void lowestLevelTest() {
+        Assert.assertNull(HandlerFactory.getLowestLevel(null, null));
+        Assert.assertEquals(Logger.Level.INFO, HandlerFactory.getLowestLevel(null, Logger.Level.INFO));
+        Assert.assertEquals(Logger.Level.INFO, HandlerFactory.getLowestLevel(Logger.Level.INFO, null));
+        Assert.assertEquals(Logger.Level.DEBUG, HandlerFactory.getLowestLevel(Logger.Level.INFO, Logger.Level.DEBUG));
+        Assert.assertEquals(Logger.Level.DEBUG, HandlerFactory.getLowestLevel(Logger.Level.DEBUG, Logger.Level.ERROR));
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.noveogroup.android.log;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+public class LogTest {
+
+    private static class CountingArgument {
+
+        private int count = 0;
+
+        @Override
+        public String toString() {
+            return "argument-" + (++count);
+        }
+
+    }
+
+    private static long getLookupCount() {
+        LoggerManager.Statistics statistics = LoggerManager.getStatistics();
+        return statistics.getHitCount() + statistics.getMissCount();
+    }
+
+    private static void configure(String root) {
+        Properties properties = new Properties();
+        properties.setProperty("root", root);
+        LoggerManager.configure(properties);
+    }
+
+    @After
+    public void tearDown() {
+        android.util.Log.record(null);
+        LoggerManager.resetConfiguration();
+    }
+
+    @Test
+    public void disabledLevelTest() {
+        List<String> records = new ArrayList<String>();
+        android.util.Log.record(records);
+        configure("INFO:tag:%level");
+        Assert.assertFalse(LoggerManager.isEnabledAnywhere(Logger.Level.DEBUG));
+        Assert.assertTrue(LoggerManager.isEnabledAnywhere(Logger.Level.INFO));
+
+        // disabled levels are rejected before the logger of the caller is looked up
+        CountingArgument argument = new CountingArgument();
+        long lookupCount = getLookupCount();
+        Assert.assertFalse(Log.isDebugEnabled());
+        Log.v("message");
+        Log.d("message %s", argument);
+        Log.print(Logger.Level.DEBUG, null, "message %s", argument);
+        Log.d(new MessageSupplier() {
+            @Override
+            public String get() {
+                throw new AssertionError("the message should not be built");
+            }
+        });
+        Assert.assertEquals(lookupCount, getLookupCount());
+        Assert.assertTrue(records.isEmpty());
+
+        Log.i("message %s", argument);
+        Assert.assertTrue(getLookupCount() > lookupCount);
+        Assert.assertEquals("[tag: INFO message argument-1]", records.toString());
+    }
+
+    @Test
+    public void reconfigureTest() {
+        List<String> records = new ArrayList<String>();
+        android.util.Log.record(records);
+        configure("WARN:tag:%level");
+        Log.d("message");
+        Log.i("message");
+        Assert.assertTrue(records.isEmpty());
+
+        configure("DEBUG:tag:%level");
+        Assert.assertTrue(LoggerManager.isEnabledAnywhere(Logger.Level.DEBUG));
+        Assert.assertFalse(LoggerManager.isEnabledAnywhere(Logger.Level.VERBOSE));
+        Log.v("message");
+        Log.d("message");
+        Assert.assertEquals("[tag: DEBUG message]", records.toString());
+    }
+
+}
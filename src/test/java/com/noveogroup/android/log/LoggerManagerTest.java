@@ -0,0 +1,215 @@
+package com.noveogroup.android.log;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+
+public class LoggerManagerTest {
+
+    @After
+    public void tearDown() {
+        LoggerManager.stopWatchingConfiguration();
+        LoggerManager.resetConfiguration();
+    }
+
+    @Test
+    public void getLoggerTest() {
+        Logger logger = LoggerManager.getLogger("com.example.Name");
+        Assert.assertSame(logger, LoggerManager.getLogger("com.example.Name"));
+        Assert.assertSame(LoggerManager.getLogger((String) null), LoggerManager.getLogger((Class<?>) null));
+        Assert.assertEquals("com.example.Name", logger.getName());
+        Assert.assertTrue(logger.isVerboseEnabled());
+    }
+
+    @Test
+    public void configureTest() {
+        Logger logger = LoggerManager.getLogger("com.example.debug.Name");
+        Logger otherLogger = LoggerManager.getLogger("com.example.Other");
+
+        Properties properties = new Properties();
+        properties.setProperty("root", "ERROR:tag");
+        properties.setProperty("logger.com.example.debug", "DEBUG:tag");
+        LoggerManager.configure(properties);
+
+        Assert.assertTrue(logger.isDebugEnabled());
+        Assert.assertFalse(logger.isVerboseEnabled());
+        Assert.assertTrue(otherLogger.isErrorEnabled());
+        Assert.assertFalse(otherLogger.isWarnEnabled());
+        Assert.assertTrue(LoggerManager.getLogger("com.example.debug.New").isDebugEnabled());
+        Assert.assertFalse(LoggerManager.isEnabledAnywhere(Logger.Level.VERBOSE));
+        Assert.assertTrue(LoggerManager.isEnabledAnywhere(Logger.Level.DEBUG));
+
+        properties.setProperty("root", "VERBOSE:tag");
+        LoggerManager.configure(properties);
+
+        Assert.assertSame(otherLogger, LoggerManager.getLogger("com.example.Other"));
+        Assert.assertTrue(otherLogger.isVerboseEnabled());
+        Assert.assertFalse(logger.isVerboseEnabled());
+        Assert.assertTrue(LoggerManager.isEnabledAnywhere(Logger.Level.VERBOSE));
+    }
+
+    @Test
+    public void longContinuationMarkerTest() {
+        StringBuilder marker = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            marker.append('\u20ac');
+        }
+        Properties properties = new Properties();
+        properties.setProperty("root", "INFO:tag");
+        properties.setProperty("continuation", marker.toString());
+        LoggerManager.configure(properties);
+
+        SimpleLogger logger = (SimpleLogger) LoggerManager.getLogger("com.example.Name");
+        PatternHandler handler = (PatternHandler) logger.getHandler();
+        Assert.assertEquals(marker.substring(0, LoggerManager.MAX_CONTINUATION_MARKER_LENGTH), handler.getContinuationMarker());
+    }
+
+    @Test
+    public void severalHandlersTest() {
+        Properties properties = new Properties();
+        properties.setProperty("root", "ERROR:tag");
+        properties.setProperty("logger.com.example.several", "WARN:tag");
+        properties.setProperty("logger.com.example.several#trace", "VERBOSE:trace:%caller");
+        LoggerManager.configure(properties);
+
+        Logger logger = LoggerManager.getLogger("com.example.several.Name");
+        Assert.assertTrue(logger.isVerboseEnabled());
+        Assert.assertFalse(LoggerManager.getLogger("com.example.Other").isWarnEnabled());
+
+        Handler handler = ((SimpleLogger) logger).getHandler();
+        Assert.assertTrue(handler instanceof CompositeHandler);
+        List<Handler> handlers = ((CompositeHandler) handler).getHandlers();
+        Assert.assertEquals(2, handlers.size());
+        Assert.assertEquals(Logger.Level.WARN, ((PatternHandler) handlers.get(0)).getLevel());
+        Assert.assertEquals("trace", ((PatternHandler) handlers.get(1)).getTagPattern());
+    }
+
+    @Test
+    public void sharedHandlersTest() {
+        Properties properties = new Properties();
+        properties.setProperty("root", "ERROR:tag");
+        properties.setProperty("logger.com.example.first", "DEBUG:tag:%caller");
+        properties.setProperty("logger.com.example.second", "DEBUG:tag:%caller");
+        properties.setProperty("logger.com.example.third", "INFO:tag:%caller");
+        LoggerManager.configure(properties);
+
+        Handler first = ((SimpleLogger) LoggerManager.getLogger("com.example.first.Name")).getHandler();
+        Handler second = ((SimpleLogger) LoggerManager.getLogger("com.example.second.Name")).getHandler();
+        Handler third = ((SimpleLogger) LoggerManager.getLogger("com.example.third.Name")).getHandler();
+        Assert.assertSame(first, second);
+        Assert.assertNotSame(first, third);
+    }
+
+    private static void writeInPlace(File file, String content) throws IOException {
+        FileOutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(content.getBytes("ISO-8859-1"));
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    @Test
+    public void rejectWrongConfigurationTest() throws Exception {
+        Logger logger = LoggerManager.getLogger("com.example.rejected.Name");
+        Properties properties = new Properties();
+        properties.setProperty("root", "ERROR:tag");
+        LoggerManager.configure(properties);
+        Assert.assertFalse(logger.isWarnEnabled());
+
+        LoggerManager.configure(new Properties());
+        Assert.assertFalse(logger.isWarnEnabled());
+
+        properties.setProperty("logger.com.example.rejected", "DEB");
+        LoggerManager.configure(properties);
+        Assert.assertFalse(logger.isWarnEnabled());
+
+        File file = File.createTempFile("android-logger", ".properties");
+        try {
+            LoggerManager.configure(file);
+            Assert.assertFalse(logger.isWarnEnabled());
+        } finally {
+            Assert.assertTrue(file.delete());
+        }
+
+        LoggerManager.resetConfiguration();
+        Assert.assertTrue(logger.isVerboseEnabled());
+    }
+
+    @Test
+    public void watchInPlaceTest() throws Exception {
+        Logger logger = LoggerManager.getLogger("com.example.watched.Name");
+        File file = File.createTempFile("android-logger", ".properties");
+        try {
+            writeInPlace(file, "root=ERROR:tag\n");
+            LoggerManager.watchConfiguration(file, 10);
+            long deadline = System.currentTimeMillis() + 10000;
+            while (logger.isWarnEnabled() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertFalse(logger.isWarnEnabled());
+
+            // a non-atomic save: the file is truncated and then written in parts
+            writeInPlace(file, "");
+            Thread.sleep(100);
+            Assert.assertFalse(logger.isWarnEnabled());
+            writeInPlace(file, "root=ERROR:tag\nlogger.com.example.watched=IN");
+            Thread.sleep(100);
+            Assert.assertFalse(logger.isWarnEnabled());
+
+            writeInPlace(file, "root=ERROR:tag\nlogger.com.example.watched=INFO:tag\n");
+            while (!logger.isInfoEnabled() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(logger.isInfoEnabled());
+            Assert.assertFalse(logger.isDebugEnabled());
+        } finally {
+            LoggerManager.stopWatchingConfiguration();
+            Assert.assertTrue(file.delete());
+        }
+    }
+
+    // replaces the file at once so the watcher never reads a partially written file
+    private static void write(File file, String content) throws IOException {
+        File temporaryFile = new File(file.getPath() + ".tmp");
+        FileOutputStream outputStream = new FileOutputStream(temporaryFile);
+        try {
+            outputStream.write(content.getBytes("ISO-8859-1"));
+        } finally {
+            outputStream.close();
+        }
+        Assert.assertTrue(temporaryFile.renameTo(file));
+    }
+
+    @Test
+    public void watchConfigurationTest() throws Exception {
+        Logger logger = LoggerManager.getLogger("com.example.watched.Name");
+        File file = File.createTempFile("android-logger", ".properties");
+        try {
+            write(file, "root=ERROR:tag\n");
+            LoggerManager.watchConfiguration(file, 10);
+            long deadline = System.currentTimeMillis() + 10000;
+            while (logger.isWarnEnabled() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertFalse(logger.isWarnEnabled());
+
+            write(file, "root=ERROR:tag\nlogger.com.example.watched=INFO:tag\n");
+            while (!logger.isInfoEnabled() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(logger.isInfoEnabled());
+            Assert.assertFalse(logger.isDebugEnabled());
+        } finally {
+            LoggerManager.stopWatchingConfiguration();
+            Assert.assertTrue(file.delete());
+        }
+    }
+
+}
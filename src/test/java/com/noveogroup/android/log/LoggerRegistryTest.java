@@ -0,0 +1,98 @@
+package com.noveogroup.android.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+public class LoggerRegistryTest {
+
+    @Test
+    public void strongTest() {
+        LoggerRegistry registry = new LoggerRegistry(false);
+        Assert.assertNull(registry.get("name"));
+        Assert.assertNull(registry.get(null));
+
+        Logger logger = new SimpleLogger("name", null);
+        Logger rootLogger = new SimpleLogger(null, null);
+        Assert.assertSame(logger, registry.putIfAbsent(logger));
+        Assert.assertSame(rootLogger, registry.putIfAbsent(rootLogger));
+        Assert.assertSame(logger, registry.putIfAbsent(new SimpleLogger("name", null)));
+        Assert.assertSame(rootLogger, registry.putIfAbsent(new SimpleLogger(null, null)));
+
+        Assert.assertSame(logger, registry.get("name"));
+        Assert.assertSame(rootLogger, registry.get(null));
+        Assert.assertEquals(2, registry.getHitCount());
+        Assert.assertEquals(2, registry.getMissCount());
+        Assert.assertEquals(2, registry.getLoggerCount());
+    }
+
+    @Test
+    public void weakTest() throws InterruptedException {
+        LoggerRegistry registry = new LoggerRegistry(true);
+        Logger logger = new SimpleLogger("name", null);
+        Assert.assertSame(logger, registry.putIfAbsent(logger));
+        Assert.assertSame(logger, registry.putIfAbsent(new SimpleLogger("name", null)));
+        for (int i = 0; i < 100; i++) {
+            registry.putIfAbsent(new SimpleLogger("name" + i, null));
+        }
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (registry.getLoggerCount() > 1 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(1, registry.getLoggerCount());
+        Assert.assertSame(logger, registry.get("name"));
+        Assert.assertNull(registry.get("name0"));
+
+        Logger newLogger = new SimpleLogger("name0", null);
+        Assert.assertSame(newLogger, registry.putIfAbsent(newLogger));
+        Assert.assertSame(newLogger, registry.get("name0"));
+    }
+
+    @Test
+    public void concurrentTest() throws InterruptedException {
+        final LoggerRegistry registry = new LoggerRegistry(false);
+        final int threadCount = 8;
+        final Logger[][] results = new Logger[threadCount][100];
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final int index = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    for (int j = 0; j < results[index].length; j++) {
+                        Logger logger = registry.get("name" + j);
+                        if (logger == null) {
+                            logger = registry.putIfAbsent(new SimpleLogger("name" + j, null));
+                        }
+                        results[index][j] = logger;
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        latch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int j = 0; j < 100; j++) {
+            for (int i = 0; i < threadCount; i++) {
+                Assert.assertSame(registry.get("name" + j), results[i][j]);
+            }
+        }
+        Assert.assertEquals(100, registry.getLoggerCount());
+        // each thread and the assertions above have looked up all the loggers
+        Assert.assertEquals(2 * threadCount * 100, registry.getHitCount() + registry.getMissCount());
+    }
+
+}
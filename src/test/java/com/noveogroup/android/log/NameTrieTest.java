@@ -0,0 +1,90 @@
+package com.noveogroup.android.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class NameTrieTest {
+
+    // the lookup used by LoggerManager before the trie
+    private static String legacyFind(Map<String, String> map, String name) {
+        String currentKey = null;
+        if (name != null) {
+            for (String key : map.keySet()) {
+                if (key != null && name.startsWith(key)) {
+                    if (key.length() >= name.length()
+                            || name.charAt(key.length()) == '.' || name.charAt(key.length()) == '$') {
+                        if (currentKey == null || currentKey.length() < key.length()) {
+                            currentKey = key;
+                        }
+                    }
+                }
+            }
+        }
+        return map.get(currentKey);
+    }
+
+    private static String randomName(Random random) {
+        String[] parts = {"", "a", "b", "ab", ".", "$", ".a", ".b", "$a", "$b", "..", ".$"};
+        StringBuilder builder = new StringBuilder();
+        for (int i = random.nextInt(6); i > 0; i--) {
+            builder.append(parts[random.nextInt(parts.length)]);
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void findTest() {
+        NameTrie<String> trie = new NameTrie<String>();
+        trie.put(null, "root");
+        trie.put("com.example", "example");
+        trie.put("com.example.Main", "main");
+        trie.put("com.example.Main$Inner", "inner");
+
+        Assert.assertEquals("root", trie.find(null));
+        Assert.assertEquals("root", trie.find(""));
+        Assert.assertEquals("root", trie.find("com"));
+        Assert.assertEquals("root", trie.find("com.examples.Main"));
+        Assert.assertEquals("example", trie.find("com.example"));
+        Assert.assertEquals("example", trie.find("com.example.Other"));
+        Assert.assertEquals("example", trie.find("com.example$Inner"));
+        Assert.assertEquals("main", trie.find("com.example.Main"));
+        Assert.assertEquals("main", trie.find("com.example.Main$Other"));
+        Assert.assertEquals("main", trie.find("com.example.Main.sub"));
+        Assert.assertEquals("inner", trie.find("com.example.Main$Inner$1"));
+    }
+
+    @Test
+    public void emptyTest() {
+        NameTrie<String> trie = new NameTrie<String>();
+        Assert.assertNull(trie.find(null));
+        Assert.assertNull(trie.find("com.example"));
+    }
+
+    @Test
+    public void legacyEquivalenceTest() {
+        Random random = new Random(0);
+        for (int i = 0; i < 200; i++) {
+            Map<String, String> map = new HashMap<String, String>();
+            map.put(null, "root");
+            for (int j = random.nextInt(10); j > 0; j--) {
+                String key = randomName(random);
+                map.put(key, "value of '" + key + "'");
+            }
+
+            NameTrie<String> trie = new NameTrie<String>();
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                trie.put(entry.getKey(), entry.getValue());
+            }
+
+            for (int j = 0; j < 100; j++) {
+                String name = randomName(random);
+                Assert.assertEquals(map + " '" + name + "'", legacyFind(map, name), trie.find(name));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.noveogroup.android.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PatternCacheTest {
+
+    @Test
+    public void cacheableTest() {
+        Assert.assertTrue(Pattern.compile("").isCacheable());
+        Assert.assertTrue(Pattern.compile("TAG").isCacheable());
+        Assert.assertTrue(Pattern.compile("%logger{-1}").isCacheable());
+        Assert.assertTrue(Pattern.compile("[%10(%p %c)]%n").isCacheable());
+    }
+
+    @Test
+    public void notCacheableTest() {
+        Assert.assertFalse(Pattern.compile("%d").isCacheable());
+        Assert.assertFalse(Pattern.compile("%d{HH:mm} %logger").isCacheable());
+        Assert.assertFalse(Pattern.compile("%caller").isCacheable());
+        Assert.assertFalse(Pattern.compile("%s").isCacheable());
+        Assert.assertFalse(Pattern.compile("%X{key}").isCacheable());
+        Assert.assertFalse(Pattern.compile("%logger %(%p [%thread])").isCacheable());
+    }
+
+    @Test
+    public void sharedPatternsTest() {
+        Pattern.ConcatenatePattern first = (Pattern.ConcatenatePattern) Pattern.compile("%logger{-1} %level");
+        Pattern.ConcatenatePattern second = (Pattern.ConcatenatePattern) Pattern.compile("[%logger{-1}]");
+        Assert.assertSame(first.getPatterns().get(0), second.getPatterns().get(1));
+        Assert.assertNotSame(first.getPatterns().get(0), ((Pattern.ConcatenatePattern) Pattern.compile("%logger{-2}")).getPatterns().get(0));
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.noveogroup.android.log;
+
+import android.util.Log;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PatternHandlerTest {
+
+    private final List<String> records = new ArrayList<String>();
+
+    @Before
+    public void startRecording() {
+        Log.record(records);
+    }
+
+    @After
+    public void stopRecording() {
+        Log.record(null);
+        DiagnosticContext.clear();
+    }
+
+    private static String render(String pattern, String loggerName, Logger.Level level) {
+        return Pattern.compile(pattern).apply(null, loggerName, level);
+    }
+
+    private static List<String> split(String text, int maxBytes) {
+        List<String> chunks = new ArrayList<String>();
+        int start = 0;
+        do {
+            int end = PatternHandler.findChunkEnd(text, start, maxBytes);
+            chunks.add(text.substring(start, end));
+            start = end;
+            if (start < text.length() && text.charAt(start) == '\n') {
+                start++;
+            }
+        } while (start < text.length());
+        return chunks;
+    }
+
+    @Test
+    public void byteCountTest() throws Exception {
+        String[] strings = {"", "text", "\u00e9t\u00e9", "\u0442\u0435\u043a\u0441\u0442", "\u20ac", "\ud83d\ude00"};
+        for (String string : strings) {
+            Assert.assertEquals(string, string.getBytes("UTF-8").length, PatternHandler.getByteCount(string));
+        }
+    }
+
+    @Test
+    public void splitLinesTest() {
+        Assert.assertEquals("[abc]", split("abc", 10).toString());
+        Assert.assertEquals("[abc, def]", split("abc\ndef", 5).toString());
+        Assert.assertEquals("[ab\ncd, efgh]", split("ab\ncd\nefgh", 6).toString());
+        Assert.assertEquals("[abc\n, def]", split("abc\n\ndef", 5).toString());
+        Assert.assertEquals("[abc]", split("abc\n", 3).toString());
+    }
+
+    @Test
+    public void splitLongLinesTest() {
+        Assert.assertEquals("[abc, def, g]", split("abcdefg", 3).toString());
+        Assert.assertEquals("[abc, def, gh]", split("abcdef\ngh", 3).toString());
+        Assert.assertEquals("[a, b, c]", split("abc", 0).toString());
+    }
+
+    @Test
+    public void splitMultiByteTest() {
+        Assert.assertEquals("[\u0442\u0435, \u043a\u0441, \u0442]",
+                split("\u0442\u0435\u043a\u0441\u0442", 5).toString());
+        Assert.assertEquals("[a, \ud83d\ude00, b]", split("a\ud83d\ude00b", 4).toString());
+        Assert.assertEquals("[\ud83d\ude00, \ud83d\ude00]", split("\ud83d\ude00\ud83d\ude00", 2).toString());
+    }
+
+    @Test
+    public void splitLimitTest() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            builder.append("line ").append(i).append(" \u0442\u0435\u043a\u0441\u0442\n");
+        }
+        String text = builder.toString();
+
+        StringBuilder joined = new StringBuilder();
+        for (String chunk : split(text, 1000)) {
+            Assert.assertTrue(chunk.getBytes("UTF-8").length <= 1000);
+            Assert.assertTrue(chunk.startsWith("line "));
+            if (joined.length() > 0) {
+                joined.append('\n');
+            }
+            joined.append(chunk);
+        }
+        Assert.assertEquals(text, joined.toString());
+    }
+
+    @Test
+    public void cachedOutputTest() {
+        PatternHandler handler = new PatternHandler(Logger.Level.VERBOSE, "%logger", "[%level %logger]");
+        String tag = render("%logger", "a.b.Name", Logger.Level.INFO);
+        String head = render("[%level %logger]", "a.b.Name", Logger.Level.INFO);
+
+        handler.print("a.b.Name", Logger.Level.INFO, null, "first");
+        handler.print("a.b.Name", Logger.Level.INFO, null, "second");
+        handler.print("a.b.Other", Logger.Level.INFO, null, "third");
+
+        Assert.assertEquals(tag + ": " + head + " first", records.get(0));
+        Assert.assertEquals(tag + ": " + head + " second", records.get(1));
+        Assert.assertEquals("a.b.Other: [INFO a.b.Other] third", records.get(2));
+    }
+
+    @Test
+    public void cachedLevelsTest() {
+        PatternHandler handler = new PatternHandler(Logger.Level.VERBOSE, "%level", "%level:");
+        for (Logger.Level level : Logger.Level.values()) {
+            handler.print("name", level, null, "message");
+            handler.print("name", level, null, "message");
+        }
+
+        Logger.Level[] levels = Logger.Level.values();
+        Assert.assertEquals(levels.length * 2, records.size());
+        for (int i = 0; i < levels.length; i++) {
+            String expected = levels[i].name() + ": " + levels[i].name() + ": message";
+            Assert.assertEquals(expected, records.get(i * 2));
+            Assert.assertEquals(expected, records.get(i * 2 + 1));
+        }
+    }
+
+    @Test
+    public void notCachedPatternsTest() throws Exception {
+        final PatternHandler handler = new PatternHandler(Logger.Level.VERBOSE, "%thread", "%X{key}");
+
+        DiagnosticContext.put("key", "first");
+        handler.print("name", Logger.Level.INFO, null, "message");
+        DiagnosticContext.put("key", "second");
+        handler.print("name", Logger.Level.INFO, null, "message");
+
+        Thread thread = new Thread("other-thread") {
+            @Override
+            public void run() {
+                handler.print("name", Logger.Level.INFO, null, "message");
+            }
+        };
+        thread.start();
+        thread.join();
+
+        String threadName = Thread.currentThread().getName();
+        Assert.assertEquals(threadName + ": first message", records.get(0));
+        Assert.assertEquals(threadName + ": second message", records.get(1));
+        Assert.assertEquals("other-thread: message", records.get(2));
+    }
+
+    @Test
+    public void notCachedTimeTest() throws Exception {
+        PatternHandler handler = new PatternHandler(Logger.Level.VERBOSE, "tag", "%d{HH:mm:ss.SSS}");
+        handler.print("name", Logger.Level.INFO, null, "message");
+        Thread.sleep(5);
+        handler.print("name", Logger.Level.INFO, null, "message");
+        Assert.assertFalse(records.get(0).equals(records.get(1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void longContinuationMarkerTest() {
+        StringBuilder marker = new StringBuilder();
+        for (int i = 0; i <= LoggerManager.MAX_CONTINUATION_MARKER_LENGTH; i++) {
+            marker.append('.');
+        }
+        new PatternHandler(Logger.Level.VERBOSE, "tag", "", marker.toString());
+    }
+
+    @Test
+    public void continuationMarkerTest() throws Exception {
+        StringBuilder marker = new StringBuilder();
+        for (int i = 0; i < LoggerManager.MAX_CONTINUATION_MARKER_LENGTH; i++) {
+            marker.append('\u20ac');
+        }
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            message.append('\u0442');
+        }
+        PatternHandler handler = new PatternHandler(Logger.Level.VERBOSE,
+                "ExampleTagWithLongName", "", marker.toString());
+        handler.print("name", Logger.Level.INFO, null, message.toString());
+
+        // the longest marker leaves room for most of the message
+        Assert.assertTrue(records.size() <= 6);
+        for (String record : records) {
+            // the tag and the message share the payload of an entry
+            Assert.assertTrue(record.getBytes("UTF-8").length - ": ".length() <= 4000);
+        }
+    }
+
+}
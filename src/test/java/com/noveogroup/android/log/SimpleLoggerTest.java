@@ -0,0 +1,157 @@
+package com.noveogroup.android.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SimpleLoggerTest {
+
+    private static class RecordingHandler implements Handler {
+
+        private final List<String> messages = new ArrayList<String>();
+
+        @Override
+        public boolean isEnabled(Logger.Level level) {
+            return level == Logger.Level.DEBUG || level == Logger.Level.ERROR;
+        }
+
+        @Override
+        public void print(String loggerName, Logger.Level level, Throwable throwable, String message) {
+            messages.add(level + ":" + message);
+        }
+
+        @Override
+        public void print(String loggerName, Logger.Level level, Throwable throwable, String messageFormat, Object... args) {
+            messages.add(level + ":" + String.format(messageFormat, args));
+        }
+
+    }
+
+    @Test
+    public void enabledLevelsTest() {
+        RecordingHandler handler = new RecordingHandler();
+        SimpleLogger logger = new SimpleLogger("name", handler);
+
+        Assert.assertFalse(logger.isVerboseEnabled());
+        Assert.assertTrue(logger.isDebugEnabled());
+        Assert.assertFalse(logger.isInfoEnabled());
+        Assert.assertFalse(logger.isWarnEnabled());
+        Assert.assertTrue(logger.isErrorEnabled());
+        Assert.assertFalse(logger.isAssertEnabled());
+        Assert.assertFalse(logger.isEnabled(null));
+        for (Logger.Level level : Logger.Level.values()) {
+            Assert.assertEquals(handler.isEnabled(level), logger.isEnabled(level));
+        }
+
+        logger.v("verbose");
+        logger.d("debug");
+        logger.i("info %d", 1);
+        logger.e("error %d", 2);
+        Assert.assertEquals("[DEBUG:debug, ERROR:error 2]", handler.messages.toString());
+    }
+
+    @Test
+    public void setHandlerTest() {
+        SimpleLogger logger = new SimpleLogger("name", null);
+        Assert.assertFalse(logger.isAssertEnabled());
+        logger.a("nothing");
+
+        logger.setHandler(new RecordingHandler());
+        Assert.assertTrue(logger.isDebugEnabled());
+
+        logger.setHandler(null);
+        Assert.assertFalse(logger.isDebugEnabled());
+    }
+
+    private static class LevelHandler implements Handler {
+
+        private final Logger.Level level;
+        private volatile String failure;
+
+        public LevelHandler(Logger.Level level) {
+            this.level = level;
+        }
+
+        @Override
+        public boolean isEnabled(Logger.Level level) {
+            return this.level == level;
+        }
+
+        @Override
+        public void print(String loggerName, Logger.Level level, Throwable throwable, String message) {
+            if (!isEnabled(level)) {
+                failure = level + " is printed by " + this.level + " handler";
+            }
+        }
+
+        @Override
+        public void print(String loggerName, Logger.Level level, Throwable throwable, String messageFormat, Object... args) {
+            print(loggerName, level, throwable, messageFormat);
+        }
+
+    }
+
+    @Test
+    public void concurrentSetHandlerTest() throws Exception {
+        final LevelHandler debugHandler = new LevelHandler(Logger.Level.DEBUG);
+        final LevelHandler errorHandler = new LevelHandler(Logger.Level.ERROR);
+        final SimpleLogger logger = new SimpleLogger("name", debugHandler);
+
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 100000; i++) {
+                    logger.setHandler(i % 2 == 0 ? errorHandler : debugHandler);
+                }
+            }
+        };
+        thread.start();
+        while (thread.isAlive()) {
+            logger.d("debug");
+            logger.e("error");
+        }
+        thread.join();
+
+        // the handler is never used with the levels of another handler
+        Assert.assertNull(debugHandler.failure);
+        Assert.assertNull(errorHandler.failure);
+    }
+
+    private static class CountingSupplier implements MessageSupplier {
+
+        private final String message;
+        private int count = 0;
+
+        public CountingSupplier(String message) {
+            this.message = message;
+        }
+
+        @Override
+        public String get() {
+            count++;
+            return message;
+        }
+
+    }
+
+    @Test
+    public void messageSupplierTest() {
+        RecordingHandler handler = new RecordingHandler();
+        SimpleLogger logger = new SimpleLogger("name", handler);
+        CountingSupplier disabled = new CountingSupplier("disabled");
+        CountingSupplier enabled = new CountingSupplier("enabled");
+
+        logger.v(disabled);
+        logger.i(new Exception(), disabled);
+        logger.d(enabled);
+        logger.e(new Exception(), enabled);
+        logger.print(Logger.Level.ERROR, null, (MessageSupplier) null);
+
+        Assert.assertEquals(0, disabled.count);
+        Assert.assertEquals(2, enabled.count);
+        Assert.assertEquals("[DEBUG:enabled, ERROR:enabled, ERROR:null]", handler.messages.toString());
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.noveogroup.android.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+public class TimestampFormatTest {
+
+    private static final String[] FORMATS = {
+            null,
+            "HH:mm:ss",
+            "yyyy-MM-dd HH:mm:ss.SSS",
+            "SSS 'ms' yyyy",
+            "mm:ss.SSS'S'",
+            "'It''s' HH:mm:ss,SSS z",
+            "ss.S",
+            "ss.SSSSS",
+            "SSS.SSS",
+            "",
+    };
+
+    private static final long[] TIMES = {
+            0L, 999L, 1000L, 1001L, 1373636726315L, 1373636726999L, 1373636727000L, 1373636727007L,
+    };
+
+    @Test
+    public void formatTest() {
+        for (String format : FORMATS) {
+            TimestampFormat timestampFormat = new TimestampFormat(format);
+            SimpleDateFormat dateFormat = new SimpleDateFormat(format == null ? TimestampFormat.DEFAULT_FORMAT : format);
+            for (long time : TIMES) {
+                StringBuilder builder = new StringBuilder("#");
+                timestampFormat.format(builder, time);
+                Assert.assertEquals("#" + dateFormat.format(new Date(time)), builder.toString());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongFormatTest() {
+        new TimestampFormat("yyyy-MM-dd qq");
+    }
+
+}
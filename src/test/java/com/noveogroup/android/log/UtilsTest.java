@@ -3,6 +3,8 @@ package com.noveogroup.android.log;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Random;
+
 public class UtilsTest {
 
     @Test
@@ -25,9 +27,8 @@ public class UtilsTest {
                 Utils.shortenClassName(className, -7, 0));
         Assert.assertEquals("com.example.android.MainActivity",
                 Utils.shortenClassName(className, Integer.MAX_VALUE, 0));
-//        todo uncomment and fix this test
-//        Assert.assertEquals("MainActivity",
-//                Utils.shortenClassName(className, Integer.MIN_VALUE, 0));
+        Assert.assertEquals("MainActivity",
+                Utils.shortenClassName(className, Integer.MIN_VALUE, 0));
 
         Assert.assertEquals("com.*",
                 Utils.shortenClassName(className, 0, 1));
@@ -47,9 +48,8 @@ public class UtilsTest {
                 Utils.shortenClassName(className, 0, -40));
         Assert.assertEquals("com.example.android.MainActivity",
                 Utils.shortenClassName(className, 0, Integer.MAX_VALUE));
-//        todo uncomment and fix this test
-//        Assert.assertEquals("*.MainActivity",
-//                Utils.shortenClassName(className, 0, Integer.MIN_VALUE));
+        Assert.assertEquals("*.MainActivity",
+                Utils.shortenClassName(className, 0, Integer.MIN_VALUE));
 
         Assert.assertEquals("*.example.android",
                 Utils.shortenClassName(className, 3, -18));
@@ -93,4 +93,221 @@ public class UtilsTest {
         Assert.assertEquals("noveogroup",
                 Utils.shorten("noveogroup", 0, Integer.MAX_VALUE));
     }
-}
\ No newline at end of file
+
+    private static String shorten(String prefix, String string, int count, int length) {
+        StringBuilder builder = new StringBuilder(prefix).append(string);
+        Utils.shorten(builder, prefix.length(), count, length);
+        return builder.toString();
+    }
+
+    @Test
+    public void shortenBuilderTest() {
+        Assert.assertEquals("[          ", shorten("[", "", 10, 10));
+        Assert.assertEquals("[  text", shorten("[", "text", 6, 0));
+        Assert.assertEquals("[text  ", shorten("[", "text", -6, 0));
+        Assert.assertEquals("[tex", shorten("[", "text", 0, 3));
+        Assert.assertEquals("[ext", shorten("[", "text", 0, -3));
+        Assert.assertEquals("[   nov", shorten("[", "noveogroup", 6, 3));
+        Assert.assertEquals("[   oup", shorten("[", "noveogroup", 6, -3));
+        Assert.assertEquals("[noveogroup", shorten("[", "noveogroup", 0, Integer.MAX_VALUE));
+
+        for (int count = -50; count <= 50; count += 7) {
+            for (int length = -12; length <= 12; length++) {
+                Assert.assertEquals("#" + Utils.shorten("noveogroup", count, length),
+                        shorten("#", "noveogroup", count, length));
+            }
+        }
+    }
+
+    // the implementation of Utils.shortenClassName used before it was rewritten
+    private static String legacyShortenClassName(String className, int count, int maxLength) {
+
+        className = legacyShortenPackagesName(className, count);
+
+        if (className == null) return null;
+        if (maxLength == 0) return className;
+        if (maxLength > className.length()) return className;
+
+        if (maxLength < 0) {
+            maxLength = -maxLength;
+            StringBuilder builder = new StringBuilder();
+            for (int index = className.length() - 1; index > 0; ) {
+                int i = className.lastIndexOf('.', index);
+
+                if (i == -1) {
+                    if (builder.length() > 0
+                            && builder.length() + index + 1 > maxLength) {
+                        builder.insert(0, '*');
+                        break;
+                    }
+
+                    builder.insert(0, className.substring(0, index + 1));
+                } else {
+                    if (builder.length() > 0
+                            && builder.length() + (index + 1 - i) + 1 > maxLength) {
+                        builder.insert(0, '*');
+                        break;
+                    }
+
+                    builder.insert(0, className.substring(i, index + 1));
+                }
+
+                index = i - 1;
+            }
+            return builder.toString();
+
+        } else {
+            StringBuilder builder = new StringBuilder();
+            for (int index = 0; index < className.length(); ) {
+                int i = className.indexOf('.', index);
+
+                if (i == -1) {
+                    if (builder.length() > 0) {
+                        builder.insert(builder.length(), '*');
+                        break;
+                    }
+
+                    builder.insert(builder.length(), className.substring(index, className.length()));
+                    break;
+                } else {
+                    if (builder.length() > 0
+                            && i + 1 > maxLength) {
+                        builder.insert(builder.length(), '*');
+                        break;
+                    }
+
+                    builder.insert(builder.length(), className.substring(index, i + 1));
+                }
+
+                index = i + 1;
+            }
+
+            return builder.toString();
+        }
+    }
+
+    private static String legacyShortenPackagesName(String className, int count) {
+        if (className == null) return null;
+        if (count == 0) return className;
+
+        StringBuilder builder = new StringBuilder();
+        if (count > 0) {
+            int points = 1;
+            for (int index = 0; index < className.length(); ) {
+                int i = className.indexOf('.', index);
+
+                if (i == -1) {
+                    builder.insert(builder.length(), className.substring(index, className.length()));
+                    break;
+
+                } else {
+                    if (points == count) {
+                        builder.insert(builder.length(), className.substring(index, i));
+                        break;
+                    }
+                    builder.insert(builder.length(), className.substring(index, i + 1));
+                }
+                index = i + 1;
+                points++;
+            }
+        } else if (count < 0) {
+            String exceptString = legacyShortenPackagesName(className, -count);
+            if (className.equals(exceptString)) {
+                int from = className.lastIndexOf('.') + 1;
+                int to = className.length();
+                builder.insert(builder.length(), className.substring(from, to));
+            } else
+                return className.replaceFirst(exceptString + '.', "");
+        }
+        return builder.toString();
+    }
+
+    private static final String[] SEGMENTS = {"", "co", "com", "noveo", "example", "android", "Main", "MainActivity"};
+
+    private static String randomClassName(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int count = 1 + random.nextInt(6);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append('.');
+            }
+            builder.append(SEGMENTS[random.nextInt(SEGMENTS.length)]);
+        }
+        switch (random.nextInt(3)) {
+            case 1:
+                builder.append("$SubClass");
+                break;
+            case 2:
+                builder.append("#method:").append(random.nextInt(1000));
+                break;
+        }
+        return builder.toString();
+    }
+
+    // the previous implementation never looked at the first character when
+    // shortening from the end, so it lost it if the second one was a dot
+    // or if the name consisted of one character
+    private static boolean hasLegacyDefect(String className, int count, int maxLength) {
+        String packagesName = legacyShortenPackagesName(className, count);
+        return maxLength < 0 && (packagesName.length() == 1
+                || packagesName.length() > 1 && packagesName.charAt(1) == '.');
+    }
+
+    /**
+     * Compares shortenClassName with its previous implementation.
+     * <p/>
+     * The previous implementation had two defects that are not reproduced:
+     * it lost a one-character first package when shortening from the end,
+     * and it removed packages using a regular expression, so '$' in
+     * a removed package broke it. Generated names don't contain '$' in
+     * packages and cases with the first defect are skipped.
+     */
+    @Test
+    public void shortenClassNameEquivalenceTest() {
+        String[] classNames = {
+                "com.example.android.MainActivity",
+                "com.example.android.MainActivity$SubClass",
+                "com...Logger",
+                "MainActivity",
+                ".MainActivity",
+                "com.example.",
+                "com.example.PatternTest#<init>:15",
+                "",
+        };
+        int[] values = {Integer.MAX_VALUE, Integer.MIN_VALUE};
+
+        Random random = new Random(0);
+        for (int n = 0; n < classNames.length + 2000; n++) {
+            String className = n < classNames.length ? classNames[n] : randomClassName(random);
+            for (int count = -7; count <= 7; count++) {
+                for (int maxLength = -45; maxLength <= 45; maxLength++) {
+                    if (hasLegacyDefect(className, count, maxLength)) {
+                        continue;
+                    }
+                    Assert.assertEquals(className + " " + count + " " + maxLength,
+                            legacyShortenClassName(className, count, maxLength),
+                            Utils.shortenClassName(className, count, maxLength));
+                }
+                for (int maxLength : values) {
+                    if (hasLegacyDefect(className, count, maxLength)) {
+                        continue;
+                    }
+                    Assert.assertEquals(className + " " + count + " " + maxLength,
+                            legacyShortenClassName(className, count, maxLength),
+                            Utils.shortenClassName(className, count, maxLength));
+                }
+            }
+            Assert.assertEquals(className,
+                    legacyShortenClassName(className, Integer.MAX_VALUE, 0),
+                    Utils.shortenClassName(className, Integer.MAX_VALUE, 0));
+        }
+    }
+
+    @Test
+    public void shortenClassNameFixesTest() {
+        Assert.assertEquals("a.MainActivity", Utils.shortenClassName("a.MainActivity", 0, -20));
+        Assert.assertEquals("*.MainActivity", Utils.shortenClassName("a.MainActivity", 0, -13));
+        Assert.assertEquals("..Logger", Utils.shortenClassName("com...Logger", -1, -45));
+        Assert.assertEquals("c.MainActivity", Utils.shortenClassName("a$b.c.MainActivity", -1, 0));
+    }
+}
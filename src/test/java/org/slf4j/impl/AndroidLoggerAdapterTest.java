@@ -0,0 +1,130 @@
+package org.slf4j.impl;
+
+import com.noveogroup.android.log.Handler;
+import com.noveogroup.android.log.Logger;
+import com.noveogroup.android.log.SimpleLogger;
+import com.noveogroup.android.log.Utils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.spi.LocationAwareLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AndroidLoggerAdapterTest {
+
+    private static class RecordingHandler implements Handler {
+
+        private final List<String> messages = new ArrayList<String>();
+        private final List<Throwable> throwables = new ArrayList<Throwable>();
+        private final List<String> callers = new ArrayList<String>();
+
+        @Override
+        public boolean isEnabled(Logger.Level level) {
+            return Logger.Level.INFO.includes(level);
+        }
+
+        @Override
+        public void print(String loggerName, Logger.Level level, Throwable throwable, String message) {
+            if (isEnabled(level)) {
+                messages.add(level + ":" + message);
+                throwables.add(throwable);
+                callers.add(Utils.getCaller().getMethodName());
+            }
+        }
+
+        @Override
+        public void print(String loggerName, Logger.Level level, Throwable throwable, String messageFormat, Object... args) {
+            Assert.fail("messages should be formatted by the adapter");
+        }
+
+    }
+
+    private static class CountingArgument {
+
+        private int count = 0;
+
+        @Override
+        public String toString() {
+            return "argument-" + (++count);
+        }
+
+    }
+
+    @Test
+    public void disabledTest() {
+        RecordingHandler handler = new RecordingHandler();
+        AndroidLoggerAdapter adapter = new AndroidLoggerAdapter(new SimpleLogger("name", handler));
+        CountingArgument argument = new CountingArgument();
+
+        adapter.trace("{}", argument);
+        adapter.debug("{} {}", argument, argument);
+        adapter.debug("{} {} {}", argument, argument, argument);
+        Assert.assertEquals(0, argument.count);
+        Assert.assertTrue(handler.messages.isEmpty());
+    }
+
+    @Test
+    public void printTest() {
+        RecordingHandler handler = new RecordingHandler();
+        AndroidLoggerAdapter adapter = new AndroidLoggerAdapter(new SimpleLogger("name", handler));
+        Exception exception = new Exception("test");
+
+        adapter.info("x={}", 1);
+        adapter.warn("x={}, y={}", 1, 2);
+        adapter.error("x={}", 1, exception);
+        adapter.error(null, exception);
+
+        Assert.assertEquals("[INFO:x=1, WARN:x=1, y=2, ERROR:x=1, ERROR:null]", handler.messages.toString());
+        Assert.assertEquals(null, handler.throwables.get(0));
+        Assert.assertSame(exception, handler.throwables.get(2));
+        Assert.assertSame(exception, handler.throwables.get(3));
+    }
+
+    private static class Wrapper {
+
+        private final LocationAwareLogger logger;
+
+        public Wrapper(LocationAwareLogger logger) {
+            this.logger = logger;
+        }
+
+        public void info(String message, Object argument) {
+            logger.log(null, Wrapper.class.getName(), LocationAwareLogger.INFO_INT, message, new Object[]{argument}, null);
+        }
+
+    }
+
+    @Test
+    public void callerTest() {
+        RecordingHandler handler = new RecordingHandler();
+        AndroidLoggerAdapter adapter = new AndroidLoggerAdapter(new SimpleLogger("name", handler));
+
+        adapter.info("message");
+        adapter.warn("x={}", 1);
+        new Wrapper(adapter).info("x={}", 2);
+
+        Assert.assertEquals("[INFO:message, WARN:x=1, INFO:x=2]", handler.messages.toString());
+        Assert.assertEquals("[callerTest, callerTest, callerTest]", handler.callers.toString());
+    }
+
+    @Test
+    public void locationAwareTest() {
+        RecordingHandler handler = new RecordingHandler();
+        AndroidLoggerAdapter adapter = new AndroidLoggerAdapter(new SimpleLogger("name", handler));
+        Exception exception = new Exception("test");
+
+        adapter.log(null, null, LocationAwareLogger.TRACE_INT, "x={}", new Object[]{1}, null);
+        adapter.log(null, null, LocationAwareLogger.ERROR_INT, "x={}", new Object[]{1}, exception);
+        adapter.log(null, null, LocationAwareLogger.WARN_INT, "{}", null, null);
+
+        Assert.assertEquals("[ERROR:x=1, WARN:{}]", handler.messages.toString());
+        Assert.assertSame(exception, handler.throwables.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownLevelTest() {
+        new AndroidLoggerAdapter(new SimpleLogger("name", new RecordingHandler())).log(null, null, 25, "message", null, null);
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.slf4j.impl;
+
+import com.noveogroup.android.log.LoggerManager;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+
+import java.lang.ref.WeakReference;
+
+public class AndroidLoggerFactoryTest {
+
+    @Test
+    public void cachedAdapterTest() {
+        AndroidLoggerFactory factory = new AndroidLoggerFactory();
+        Logger logger = factory.getLogger("com.example.Cached");
+        Logger rootLogger = factory.getLogger(null);
+
+        Assert.assertSame(logger, factory.getLogger("com.example.Cached"));
+        Assert.assertSame(rootLogger, factory.getLogger(null));
+        Assert.assertNotSame(logger, factory.getLogger("com.example.Other"));
+        Assert.assertNotSame(logger, rootLogger);
+        Assert.assertSame(LoggerManager.getLogger("com.example.Cached"), ((AndroidLoggerAdapter) logger).getLogger());
+    }
+
+    @Test
+    public void unreferencedAdapterTest() {
+        Assert.assertFalse(LoggerManager.isWeakRetention());
+        AndroidLoggerFactory factory = new AndroidLoggerFactory();
+        WeakReference<Logger> reference = new WeakReference<Logger>(factory.getLogger("com.example.PerRequest"));
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Assert.assertNotNull(reference.get());
+            Assert.assertSame(reference.get(), factory.getLogger("com.example.PerRequest"));
+        }
+    }
+
+}
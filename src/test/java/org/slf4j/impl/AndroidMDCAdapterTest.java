@@ -0,0 +1,34 @@
+package org.slf4j.impl;
+
+import com.noveogroup.android.log.DiagnosticContext;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class AndroidMDCAdapterTest {
+
+    @After
+    public void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    public void mdcTest() {
+        Assert.assertTrue(MDC.getMDCAdapter() instanceof AndroidMDCAdapter);
+
+        MDC.put("request", "1");
+        Assert.assertEquals("1", DiagnosticContext.get("request"));
+        Map<String, String> copy = MDC.getCopyOfContextMap();
+        MDC.remove("request");
+        Assert.assertNull(MDC.get("request"));
+        Assert.assertEquals(Collections.singletonMap("request", "1"), copy);
+
+        MDC.setContextMap(copy);
+        Assert.assertEquals("1", MDC.get("request"));
+    }
+
+}
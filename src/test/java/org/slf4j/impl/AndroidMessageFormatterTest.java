@@ -0,0 +1,75 @@
+package org.slf4j.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.helpers.FormattingTuple;
+import org.slf4j.helpers.MessageFormatter;
+
+public class AndroidMessageFormatterTest {
+
+    private static void check(String pattern, Object... arguments) {
+        FormattingTuple expected = MessageFormatter.arrayFormat(pattern, arguments);
+        StringBuilder builder = new StringBuilder();
+        int used = AndroidMessageFormatter.format(builder, pattern, arguments);
+        Assert.assertEquals(pattern, expected.getMessage(), builder.toString());
+        Assert.assertSame(pattern, expected.getThrowable(), AndroidMessageFormatter.getThrowable(arguments, used));
+    }
+
+    @Test
+    public void formatTest() {
+        check("no placeholders");
+        check("no placeholders", 1);
+        check("a {} b", 1);
+        check("a {} b {}", 1, "two");
+        check("a {} {} {}", 1, 2);
+        check("{}{}", "x", null);
+        check("a { } {", 1);
+        check("{}", (Object) null);
+        check("a {}", (Object[]) null);
+    }
+
+    @Test
+    public void escapeTest() {
+        check("a \\{} {}", 1);
+        check("a \\\\{} {}", 1, 2);
+        check("\\{}", 1);
+        check("\\\\{}", 1);
+    }
+
+    @Test
+    public void arrayTest() {
+        check("{}", new int[]{1, 2});
+        check("{} {}", new boolean[]{true}, new char[]{'a', 'b'});
+        check("{}", new byte[]{1}, new short[]{2});
+        check("{} {} {}", new long[]{3}, new float[]{4}, new double[]{5});
+        check("{}", (Object) new Object[]{"x", new String[]{"y"}, new int[]{1}});
+
+        Object[] self = new Object[2];
+        self[0] = "x";
+        self[1] = self;
+        check("{}", (Object) self);
+    }
+
+    @Test
+    public void throwableTest() {
+        Exception exception = new Exception("test");
+        check("a {} b", exception);
+        check("a {} b {}", 1, exception);
+        check("a {}", 1, exception);
+        check("no placeholders", exception);
+    }
+
+    @Test
+    public void failedToStringTest() {
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException();
+            }
+        };
+        StringBuilder builder = new StringBuilder();
+        AndroidMessageFormatter.format(builder, "a {}", new Object[]{argument});
+        Assert.assertEquals("a [FAILED toString()]", builder.toString());
+    }
+
+}